@@ -0,0 +1,82 @@
+package io.iamcore.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.iamcore.authentication.HttpHeaderAuthenticator;
+import io.iamcore.authentication.PrincipalIrnCache;
+import io.iamcore.authentication.context.SecurityContext;
+import io.iamcore.server.ServerClientImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link HttpHeaderAuthenticator#authenticate} against the stub server, with every call
+ * going to the server or, with the principal cache enabled, answered from memory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticateBenchmark {
+
+  private static final String AUTHORIZATION_HEADER_NAME = "Authorization";
+
+  @Param({"false", "true"})
+  private boolean principalCacheEnabled;
+
+  private StubIamcoreServer server;
+  private HttpHeaderAuthenticator authenticator;
+  private HttpServletRequest request;
+
+  @Setup
+  public void setUp() {
+    server = new StubIamcoreServer();
+
+    ServerClientImpl serverClient =
+        new ServerClientImpl(URI.create(server.getUrl()), new ObjectMapper());
+    PrincipalIrnCache principalIrnCache = principalCacheEnabled
+        ? new PrincipalIrnCache(serverClient, 10000, Duration.ofMinutes(10))
+        : null;
+    authenticator =
+        new HttpHeaderAuthenticator(serverClient, principalIrnCache, AUTHORIZATION_HEADER_NAME);
+    request = requestWithHeader(AUTHORIZATION_HEADER_NAME, "Bearer benchmark");
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.close();
+  }
+
+  @Benchmark
+  public Optional<SecurityContext> authenticate() {
+    return authenticator.authenticate(request);
+  }
+
+  /**
+   * Creates a request that only answers header lookups, which is all the authenticator uses.
+   */
+  private static HttpServletRequest requestWithHeader(String name, String value) {
+    return (HttpServletRequest) Proxy.newProxyInstance(
+        HttpServletRequest.class.getClassLoader(),
+        new Class<?>[] {HttpServletRequest.class},
+        (proxy, method, args) -> "getHeader".equals(method.getName())
+            && name.equalsIgnoreCase((String) args[0]) ? value : null);
+  }
+}
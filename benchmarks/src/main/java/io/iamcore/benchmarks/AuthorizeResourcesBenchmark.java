@@ -0,0 +1,78 @@
+package io.iamcore.benchmarks;
+
+import io.iamcore.Client;
+import io.iamcore.ClientImpl;
+import io.iamcore.ClientProperties;
+import io.iamcore.HttpHeader;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ClientImpl#authorizeResources}. With the authorization cache enabled every
+ * decision is served from memory after warmup, which isolates IRN construction, cache lookups
+ * and result mapping; without it each call also serializes the evaluation request and parses
+ * the response from the stub server.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizeResourcesBenchmark {
+
+  private static final String APPLICATION = "benchmark";
+  private static final String RESOURCE_TYPE = "document";
+  private static final String ACTION = "benchmark:document:read";
+
+  @Param({"10", "1000"})
+  private int resourceCount;
+
+  @Param({"false", "true"})
+  private boolean authorizationCacheEnabled;
+
+  private StubIamcoreServer server;
+  private Client client;
+  private HttpHeader authorizationHeader;
+  private Set<String> resourceIds;
+
+  @Setup
+  public void setUp() {
+    server = new StubIamcoreServer();
+
+    ClientProperties properties = new ClientProperties("benchmark-api-key", server.getUrl(), false);
+    properties.setAuthorizationCacheEnabled(authorizationCacheEnabled);
+    client = new ClientImpl(properties);
+
+    authorizationHeader = new HttpHeader("Authorization", "Bearer benchmark");
+    resourceIds = IntStream.range(0, resourceCount)
+        .mapToObj(i -> "resource-" + i)
+        .collect(Collectors.toSet());
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close();
+    server.close();
+  }
+
+  @Benchmark
+  public Set<String> authorizeResources() {
+    return client.authorizeResources(authorizationHeader, "iamcore", APPLICATION, "",
+        RESOURCE_TYPE, "/", resourceIds, ACTION);
+  }
+}
@@ -0,0 +1,105 @@
+package io.iamcore.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.iamcore.IRN;
+import io.iamcore.server.dto.EvaluateResourcesRequest;
+import io.iamcore.server.dto.PageableResponse;
+import io.iamcore.server.dto.ResourceTypeDto;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the JSON payloads on the authorization hot path: the evaluation request the SDK sends
+ * and the pages it reads. The object mapper is configured the way {@code ClientImpl} configures
+ * it, optionally with the Blackbird module.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int itemCount;
+
+  @Param({"false", "true"})
+  private boolean blackbirdEnabled;
+
+  private ObjectWriter evaluateResourcesWriter;
+  private ObjectReader pageOfStringsReader;
+  private ObjectReader pageOfResourceTypesReader;
+  private EvaluateResourcesRequest evaluateResourcesRequest;
+  private byte[] pageOfIrnsJson;
+  private byte[] pageOfResourceTypesJson;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new JavaTimeModule());
+    objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    if (blackbirdEnabled) {
+      objectMapper.registerModule(new BlackbirdModule());
+    }
+
+    evaluateResourcesWriter = objectMapper.writerFor(EvaluateResourcesRequest.class);
+    pageOfStringsReader =
+        objectMapper.readerFor(new TypeReference<PageableResponse<String>>() {});
+    pageOfResourceTypesReader =
+        objectMapper.readerFor(new TypeReference<PageableResponse<ResourceTypeDto>>() {});
+
+    List<String> irns = IntStream.range(0, itemCount)
+        .mapToObj(i -> IRN.of("iamcore", "benchmark", "", null, "document", "/", "resource-" + i)
+            .toString())
+        .toList();
+    evaluateResourcesRequest = new EvaluateResourcesRequest("benchmark:document:read", irns);
+    pageOfIrnsJson = objectMapper.writeValueAsBytes(
+        new PageableResponse<>(irns, itemCount, 1, itemCount));
+
+    LocalDateTime now = LocalDateTime.now();
+    List<ResourceTypeDto> resourceTypes = IntStream.range(0, itemCount)
+        .mapToObj(i -> new ResourceTypeDto("id-" + i, irns.get(i), "type-" + i,
+            "Resource type " + i, "benchmark", now, now, Set.of("read", "update", "delete")))
+        .toList();
+    pageOfResourceTypesJson = objectMapper.writeValueAsBytes(
+        new PageableResponse<>(resourceTypes, itemCount, 1, itemCount));
+  }
+
+  @Benchmark
+  public byte[] serializeEvaluateResourcesRequest() throws JsonProcessingException {
+    return evaluateResourcesWriter.writeValueAsBytes(evaluateResourcesRequest);
+  }
+
+  @Benchmark
+  public PageableResponse<String> deserializePageOfIrns() throws IOException {
+    return pageOfStringsReader.readValue(pageOfIrnsJson);
+  }
+
+  @Benchmark
+  public PageableResponse<ResourceTypeDto> deserializePageOfResourceTypes() throws IOException {
+    return pageOfResourceTypesReader.readValue(pageOfResourceTypesJson);
+  }
+}
@@ -0,0 +1,78 @@
+package io.iamcore.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.iamcore.IRN;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the iamcore endpoints the benchmarks call. It answers the principal
+ * lookup with a fixed IRN and authorizes every evaluated resource, so that measurements cover
+ * the SDK and the loopback HTTP stack but no server-side work.
+ */
+public class StubIamcoreServer implements AutoCloseable {
+
+  static final IRN PRINCIPAL_IRN =
+      IRN.of("iamcore", "iamcore", "", null, "user", "/", "benchmark");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final HttpServer server;
+
+  public StubIamcoreServer() {
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    byte[] principalIrnResponse =
+        ("{\"data\": \"" + PRINCIPAL_IRN + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    server.createContext("/api/v1/users/me/irn",
+        exchange -> respond(exchange, principalIrnResponse));
+    server.createContext("/api/v1/resources/evaluate",
+        exchange -> respond(exchange, authorizeAll(exchange.getRequestBody())));
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  public String getUrl() {
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private byte[] authorizeAll(InputStream requestBody) throws IOException {
+    try (requestBody) {
+      JsonNode request = objectMapper.readTree(requestBody);
+
+      return objectMapper.writeValueAsBytes(request.path("resources"));
+    }
+  }
+
+  private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+    try (exchange) {
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+
+      try (OutputStream responseBody = exchange.getResponseBody()) {
+        responseBody.write(body);
+      }
+    }
+  }
+}
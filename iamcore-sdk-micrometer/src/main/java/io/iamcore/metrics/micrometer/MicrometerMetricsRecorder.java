@@ -0,0 +1,78 @@
+package io.iamcore.metrics.micrometer;
+
+import io.iamcore.metrics.MetricsRecorder;
+import io.iamcore.metrics.RequestSample;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes iamcore SDK request metrics to a Micrometer registry:
+ * <ul>
+ *   <li>{@code iamcore.client.requests} timer tagged by {@code operation}, {@code status} and
+ *       {@code outcome};</li>
+ *   <li>{@code iamcore.client.request.size} and {@code iamcore.client.response.size}
+ *       distribution summaries in bytes, tagged by {@code operation}.</li>
+ * </ul>
+ * Percentile histograms are left to the registry's meter filters.
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+
+  static final String REQUESTS_METER = "iamcore.client.requests";
+  static final String REQUEST_SIZE_METER = "iamcore.client.request.size";
+  static final String RESPONSE_SIZE_METER = "iamcore.client.response.size";
+
+  private final MeterRegistry registry;
+  private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, PayloadSummaries> payloadSummaries = new ConcurrentHashMap<>();
+
+  public MicrometerMetricsRecorder(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void record(RequestSample sample) {
+    timers.computeIfAbsent(
+            new TimerKey(sample.operation(), sample.statusCode(), sample.failed()),
+            this::registerTimer)
+        .record(sample.durationNanos(), TimeUnit.NANOSECONDS);
+
+    PayloadSummaries summaries =
+        payloadSummaries.computeIfAbsent(sample.operation(), this::registerPayloadSummaries);
+    summaries.requestSize().record(sample.requestBytes());
+    summaries.responseSize().record(sample.responseBytes());
+  }
+
+  private Timer registerTimer(TimerKey key) {
+    return Timer.builder(REQUESTS_METER)
+        .description("Requests from the iamcore SDK to the iamcore server")
+        .tags(Tags.of(
+            "operation", key.operation(),
+            "status", key.statusCode() == 0 ? "NONE" : Integer.toString(key.statusCode()),
+            "outcome", key.failed() ? "ERROR" : "SUCCESS"))
+        .register(registry);
+  }
+
+  private PayloadSummaries registerPayloadSummaries(String operation) {
+    return new PayloadSummaries(
+        DistributionSummary.builder(REQUEST_SIZE_METER)
+            .description("Request body size of iamcore SDK requests")
+            .baseUnit("bytes")
+            .tag("operation", operation)
+            .register(registry),
+        DistributionSummary.builder(RESPONSE_SIZE_METER)
+            .description("Response body size of iamcore SDK requests")
+            .baseUnit("bytes")
+            .tag("operation", operation)
+            .register(registry));
+  }
+
+  private record TimerKey(String operation, int statusCode, boolean failed) {}
+
+  private record PayloadSummaries(
+      DistributionSummary requestSize, DistributionSummary responseSize) {}
+}
@@ -0,0 +1,109 @@
+package io.iamcore.loadtest;
+
+import io.iamcore.Client;
+import io.iamcore.ClientImpl;
+import io.iamcore.ClientProperties;
+import io.iamcore.metrics.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Drives {@link ClientImpl} in open-loop mode against a local stub server and reports achieved
+ * throughput and latency percentiles per scenario. Everything runs on the loopback interface, so
+ * the test works offline. The process exits with status 1 when a configured threshold is missed.
+ */
+public class LoadTest {
+
+  public static void main(String[] args) {
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      System.err.print(LoadTestOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    List<String> violations = new ArrayList<>();
+
+    try (StubIamcoreServer server = new StubIamcoreServer(options.serverLatency(),
+        options.serverJitter(), options.errorRate())) {
+      for (Scenario scenario : options.scenarios()) {
+        violations.addAll(run(scenario, options, server.getUrl()));
+      }
+    }
+
+    violations.forEach(System.err::println);
+    System.exit(violations.isEmpty() ? 0 : 1);
+  }
+
+  /**
+   * Runs one scenario on a fresh client so that caches warmed by earlier scenarios do not
+   * carry over, and returns the thresholds it missed.
+   */
+  private static List<String> run(Scenario scenario, LoadTestOptions options, String serverUrl) {
+    ClientProperties properties = new ClientProperties("loadtest-api-key", serverUrl, false);
+    properties.setAuthorizationCacheEnabled(options.authorizationCacheEnabled());
+    properties.setDbQueryFilterCacheEnabled(options.dbQueryFilterCacheEnabled());
+
+    try (Client client = new ClientImpl(properties)) {
+      return run(client, scenario, options);
+    }
+  }
+
+  private static List<String> run(Client client, Scenario scenario, LoadTestOptions options) {
+    List<String> tokens = IntStream.range(0, options.principals())
+        .mapToObj(i -> "Bearer loadtest-" + i)
+        .toList();
+    Set<String> resourceIds = IntStream.range(0, options.resources())
+        .mapToObj(i -> "resource-" + i)
+        .collect(Collectors.toSet());
+
+    OpenLoopDriver driver = new OpenLoopDriver(options.rate(), options.maxInFlight());
+    driver.run(options.warmup(), sequence ->
+        scenario.run(client, tokens.get((int) (sequence % tokens.size())), resourceIds));
+    OpenLoopDriver.Result result = driver.run(options.duration(), sequence ->
+        scenario.run(client, tokens.get((int) (sequence % tokens.size())), resourceIds));
+
+    report(scenario, options, result);
+
+    List<String> violations = new ArrayList<>();
+    long p99Nanos = result.latency().getValueAtPercentile(99);
+    if (options.maxP99() != null && p99Nanos > options.maxP99().toNanos()) {
+      violations.add(String.format(Locale.ROOT, "%s: p99 latency %.2f ms exceeds %d ms",
+          scenario.getName(), millis(p99Nanos), options.maxP99().toMillis()));
+    }
+
+    double throughputRatio = result.throughput() / options.rate();
+    if (throughputRatio < options.minThroughputRatio()) {
+      violations.add(String.format(Locale.ROOT, "%s: achieved %.1f%% of the target rate",
+          scenario.getName(), throughputRatio * 100));
+    }
+
+    return violations;
+  }
+
+  private static void report(Scenario scenario, LoadTestOptions options,
+      OpenLoopDriver.Result result) {
+    LatencyHistogram latency = result.latency();
+
+    System.out.printf(Locale.ROOT,
+        "%s: target %d/s, achieved %.1f/s, requests %d, errors %d, dropped %d%n",
+        scenario.getName(), options.rate(), result.throughput(), result.completed(),
+        result.failures(), result.dropped());
+    System.out.printf(Locale.ROOT,
+        "  latency ms: p50 %.2f, p99 %.2f, p99.9 %.2f, max %.2f, mean %.2f%n",
+        millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+        millis(latency.getValueAtPercentile(99.9)), millis(latency.getMax()),
+        latency.getMean() / 1e6);
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+}
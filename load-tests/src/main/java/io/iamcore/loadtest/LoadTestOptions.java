@@ -0,0 +1,107 @@
+package io.iamcore.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load test, given as {@code --name=value}.
+ *
+ * @param rate the requests started per second, independent of how fast they complete.
+ * @param maxInFlight requests beyond this many outstanding ones are dropped and reported.
+ * @param principals the number of distinct bearer tokens the requests rotate through.
+ * @param resources the number of resources authorized per {@code authorizeResources} call.
+ * @param serverLatency the base latency the stub server adds to every response.
+ * @param serverJitter the maximum random latency added on top of the base latency.
+ * @param errorRate the fraction of stub server responses that fail with status 503.
+ * @param maxP99 fails the run when a scenario's p99 latency exceeds it; unchecked when null.
+ * @param minThroughputRatio fails the run when a scenario achieves less than this fraction of the
+ *     target rate; unchecked when zero.
+ */
+record LoadTestOptions(
+    List<Scenario> scenarios,
+    int rate,
+    Duration duration,
+    Duration warmup,
+    int maxInFlight,
+    int principals,
+    int resources,
+    boolean authorizationCacheEnabled,
+    boolean dbQueryFilterCacheEnabled,
+    Duration serverLatency,
+    Duration serverJitter,
+    double errorRate,
+    Duration maxP99,
+    double minThroughputRatio) {
+
+  static final String USAGE = """
+      Usage: java -jar load-tests.jar [--name=value ...]
+        --scenarios=authenticate,authorizeResources,authorizationDbQueryFilter
+        --rate=5000                   requests started per second
+        --duration-seconds=30         measured period per scenario
+        --warmup-seconds=10           unmeasured period before each scenario
+        --max-in-flight=10000         outstanding requests before new ones are dropped
+        --principals=1000             distinct bearer tokens
+        --resources=10                resources per authorizeResources call
+        --authorization-cache=false   enable the SDK authorization cache
+        --db-query-filter-cache=false enable the SDK database query filter cache
+        --server-latency-millis=2     stub server base latency
+        --server-jitter-millis=1      stub server random extra latency
+        --error-rate=0                fraction of stub responses failing with 503
+        --max-p99-millis=             fail when p99 latency is higher
+        --min-throughput-ratio=       fail when achieved/target throughput is lower
+      """;
+
+  static LoadTestOptions parse(String[] args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Invalid argument: " + arg);
+      }
+
+      values.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    String maxP99Millis = take(values, "max-p99-millis", null);
+    LoadTestOptions options = new LoadTestOptions(
+        Arrays.stream(take(values, "scenarios",
+                "authenticate,authorizeResources,authorizationDbQueryFilter").split(","))
+            .map(String::trim)
+            .map(Scenario::fromName)
+            .toList(),
+        Integer.parseInt(take(values, "rate", "5000")),
+        Duration.ofSeconds(Long.parseLong(take(values, "duration-seconds", "30"))),
+        Duration.ofSeconds(Long.parseLong(take(values, "warmup-seconds", "10"))),
+        Integer.parseInt(take(values, "max-in-flight", "10000")),
+        Integer.parseInt(take(values, "principals", "1000")),
+        Integer.parseInt(take(values, "resources", "10")),
+        Boolean.parseBoolean(take(values, "authorization-cache", "false")),
+        Boolean.parseBoolean(take(values, "db-query-filter-cache", "false")),
+        Duration.ofMillis(Long.parseLong(take(values, "server-latency-millis", "2"))),
+        Duration.ofMillis(Long.parseLong(take(values, "server-jitter-millis", "1"))),
+        Double.parseDouble(take(values, "error-rate", "0")),
+        maxP99Millis == null ? null : Duration.ofMillis(Long.parseLong(maxP99Millis)),
+        Double.parseDouble(take(values, "min-throughput-ratio", "0")));
+
+    if (!values.isEmpty()) {
+      throw new IllegalArgumentException("Unknown options: " + values.keySet());
+    }
+
+    if (options.rate() <= 0 || options.maxInFlight() <= 0 || options.principals() <= 0
+        || options.resources() <= 0) {
+      throw new IllegalArgumentException(
+          "Rate, max in-flight, principals and resources must be positive");
+    }
+
+    return options;
+  }
+
+  private static String take(Map<String, String> values, String name, String defaultValue) {
+    String value = values.remove(name);
+
+    return value == null || value.isBlank() ? defaultValue : value;
+  }
+}
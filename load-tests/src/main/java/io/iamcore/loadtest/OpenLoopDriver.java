@@ -0,0 +1,87 @@
+package io.iamcore.loadtest;
+
+import io.iamcore.metrics.LatencyHistogram;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Starts requests at a fixed rate regardless of how long earlier ones take, each on its own
+ * virtual thread. Latency is measured from the moment a request was scheduled to start rather
+ * than from when it actually started, so a stalled client shows up in the percentiles instead of
+ * silently lowering the offered load.
+ */
+class OpenLoopDriver {
+
+  private final int rate;
+  private final int maxInFlight;
+
+  OpenLoopDriver(int rate, int maxInFlight) {
+    this.rate = rate;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Runs the request for the duration and waits for outstanding requests to complete.
+   *
+   * @param request called with the sequence number of the request.
+   */
+  Result run(Duration duration, LongConsumer request) {
+    LatencyHistogram latency = new LatencyHistogram();
+    LongAdder failures = new LongAdder();
+    LongAdder dropped = new LongAdder();
+    Semaphore inFlight = new Semaphore(maxInFlight);
+
+    long intervalNanos = Math.max(1, 1_000_000_000L / rate);
+    long durationNanos = duration.toNanos();
+    long startNanos = System.nanoTime();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long sequence = 0; sequence * intervalNanos < durationNanos; sequence++) {
+        long scheduledNanos = startNanos + sequence * intervalNanos;
+        long waitNanos = scheduledNanos - System.nanoTime();
+        if (waitNanos > 0) {
+          LockSupport.parkNanos(waitNanos);
+        }
+
+        if (!inFlight.tryAcquire()) {
+          dropped.increment();
+          continue;
+        }
+
+        long requestSequence = sequence;
+        executor.execute(() -> {
+          try {
+            request.accept(requestSequence);
+          } catch (RuntimeException ex) {
+            failures.increment();
+          } finally {
+            latency.record(System.nanoTime() - scheduledNanos);
+            inFlight.release();
+          }
+        });
+      }
+    }
+
+    return new Result(latency, failures.sum(), dropped.sum(),
+        Duration.ofNanos(System.nanoTime() - startNanos));
+  }
+
+  /**
+   * Outcome of a run; latencies are in nanoseconds and include failed requests.
+   */
+  record Result(LatencyHistogram latency, long failures, long dropped, Duration elapsed) {
+
+    long completed() {
+      return latency.getCount();
+    }
+
+    double throughput() {
+      return completed() / (elapsed.toNanos() / 1e9);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package io.iamcore.loadtest;
+
+import static io.iamcore.ClientImpl.AUTHORIZATION_HEADER_NAME;
+
+import io.iamcore.Client;
+import io.iamcore.HttpHeader;
+import io.iamcore.authentication.context.SecurityContextHolder;
+import io.iamcore.server.dto.Database;
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Client operation driven by the load test. Each request uses one of a fixed set of principals,
+ * chosen round-robin, so that principal caches see a realistic number of keys.
+ */
+enum Scenario {
+
+  AUTHENTICATE("authenticate") {
+    @Override
+    void run(Client client, String token, Set<String> resourceIds) {
+      try {
+        client.authenticate(requestWithHeader(AUTHORIZATION_HEADER_NAME, token));
+      } finally {
+        SecurityContextHolder.clearSecurityContext();
+      }
+    }
+  },
+
+  AUTHORIZE_RESOURCES("authorizeResources") {
+    @Override
+    void run(Client client, String token, Set<String> resourceIds) {
+      client.authorizeResources(new HttpHeader(AUTHORIZATION_HEADER_NAME, token), ACCOUNT,
+          APPLICATION, "", RESOURCE_TYPE, "/", resourceIds, ACTION);
+    }
+  },
+
+  AUTHORIZATION_DB_QUERY_FILTER("authorizationDbQueryFilter") {
+    @Override
+    void run(Client client, String token, Set<String> resourceIds) {
+      client.authorizationDbQueryFilter(new HttpHeader(AUTHORIZATION_HEADER_NAME, token), ACTION,
+          Database.POSTGRES);
+    }
+  };
+
+  static final String ACCOUNT = "loadtest";
+  static final String APPLICATION = "loadtest";
+  static final String RESOURCE_TYPE = "document";
+  static final String ACTION = "loadtest:document:read";
+
+  private final String name;
+
+  Scenario(String name) {
+    this.name = name;
+  }
+
+  abstract void run(Client client, String token, Set<String> resourceIds);
+
+  String getName() {
+    return name;
+  }
+
+  static Scenario fromName(String name) {
+    return Arrays.stream(values())
+        .filter(scenario -> scenario.name.equals(name))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + name));
+  }
+
+  /**
+   * Creates a request that only answers header lookups, which is all authentication uses.
+   */
+  private static HttpServletRequest requestWithHeader(String name, String value) {
+    return (HttpServletRequest) Proxy.newProxyInstance(
+        HttpServletRequest.class.getClassLoader(),
+        new Class<?>[] {HttpServletRequest.class},
+        (proxy, method, args) -> "getHeader".equals(method.getName())
+            && name.equalsIgnoreCase((String) args[0]) ? value : null);
+  }
+}
@@ -0,0 +1,122 @@
+package io.iamcore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.iamcore.IRN;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the iamcore endpoints the load test calls. Every response is delayed by the
+ * configured latency plus random jitter, and the configured fraction of responses fails with
+ * status 503. Handlers run on virtual threads, so the delay does not limit concurrency.
+ */
+class StubIamcoreServer implements AutoCloseable {
+
+  private static final byte[] ERROR_RESPONSE =
+      "{\"message\": \"Injected failure\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final long latencyNanos;
+  private final long jitterNanos;
+  private final double errorRate;
+  private final HttpServer server;
+
+  StubIamcoreServer(Duration latency, Duration jitter, double errorRate) {
+    this.latencyNanos = latency.toNanos();
+    this.jitterNanos = jitter.toNanos();
+    this.errorRate = errorRate;
+
+    try {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    IRN principalIrn = IRN.of(Scenario.ACCOUNT, "iamcore", "", null, "user", "/", "loadtest");
+    byte[] principalIrnResponse = json("{\"data\": \"" + principalIrn + "\"}");
+    byte[] dbQueryFilterResponse = json("{\"data\": \"\\\"owner\\\" = 'loadtest'\"}");
+
+    server.createContext("/api/v1/users/me/irn", handler(exchange -> principalIrnResponse));
+    server.createContext("/api/v1/resources/evaluate", handler(this::authorizeAll));
+    server.createContext("/api/v1/evaluate/database-query-filter",
+        handler(exchange -> dbQueryFilterResponse));
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  String getUrl() {
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private HttpHandler handler(ResponseBody responseBody) {
+    return exchange -> {
+      try (exchange) {
+        byte[] body = responseBody.read(exchange);
+        delay();
+
+        boolean failed = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        respond(exchange, failed ? 503 : 200, failed ? ERROR_RESPONSE : body);
+      }
+    };
+  }
+
+  private void delay() {
+    long delayNanos = latencyNanos
+        + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos + 1) : 0);
+
+    if (delayNanos > 0) {
+      try {
+        Thread.sleep(Duration.ofNanos(delayNanos));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private byte[] authorizeAll(HttpExchange exchange) throws IOException {
+    try (InputStream requestBody = exchange.getRequestBody()) {
+      JsonNode request = objectMapper.readTree(requestBody);
+
+      return objectMapper.writeValueAsBytes(request.path("resources"));
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int statusCode, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(statusCode, body.length);
+
+    try (OutputStream responseBody = exchange.getResponseBody()) {
+      responseBody.write(body);
+    }
+  }
+
+  private static byte[] json(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @FunctionalInterface
+  private interface ResponseBody {
+    byte[] read(HttpExchange exchange) throws IOException;
+  }
+}
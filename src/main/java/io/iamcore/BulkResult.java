@@ -0,0 +1,28 @@
+package io.iamcore;
+
+import io.iamcore.exception.SdkException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Outcome of one item of a bulk operation: either its value or the exception it failed with.
+ */
+public record BulkResult<T>(T value, RuntimeException error) {
+
+  public static <T> BulkResult<T> success(T value) {
+    return new BulkResult<>(value, null);
+  }
+
+  public static <T> BulkResult<T> failure(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+
+    return new BulkResult<>(null, cause instanceof RuntimeException runtimeException
+        ? runtimeException
+        : new SdkException(cause.getMessage()));
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+}
@@ -1,13 +1,18 @@
 package io.iamcore;
 
+import io.iamcore.cache.PoolIndex;
+import io.iamcore.filter.DbQueryFilter;
+import io.iamcore.server.dto.CreateResourceRequestDto;
 import io.iamcore.server.dto.Database;
 import io.iamcore.server.dto.PoolsQueryFilter;
 import io.iamcore.server.dto.ResourceTypeDto;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
-public interface Client {
+public interface Client extends AutoCloseable {
 
   void authenticate(HttpServletRequest request);
 
@@ -19,27 +24,81 @@ public interface Client {
       String tenantId, String resourceType, String resourcePath, Set<String> resourceIds,
       String action);
 
+  CompletableFuture<Set<String>> authorizeIrnsAsync(HttpHeader authorizationHeader,
+      String accountId, String application, String tenantId, String resourceType,
+      String resourcePath, Set<String> resourceIds, String action);
+
+  CompletableFuture<Set<String>> authorizeResourcesAsync(HttpHeader authorizationHeader,
+      String accountId, String application, String tenantId, String resourceType,
+      String resourcePath, Set<String> resourceIds, String action);
+
   String authorizationDbQueryFilter(HttpHeader authorizationHeader, String action,
       Database database);
 
+  CompletableFuture<String> authorizationDbQueryFilterAsync(HttpHeader authorizationHeader,
+      String action, Database database);
+
+  DbQueryFilter authorizationDbQueryFilterParsed(HttpHeader authorizationHeader, String action,
+      Database database);
+
+  CompletableFuture<DbQueryFilter> authorizationDbQueryFilterParsedAsync(
+      HttpHeader authorizationHeader, String action, Database database);
+
   IRN createResource(HttpHeader authorizationHeader, String application, String tenantId,
       String resourceType, String resourcePath, String resourceId);
 
   IRN createResource(HttpHeader authorizationHeader, String application, String tenantId,
       String resourceType, String resourcePath, String resourceId, Set<String> poolIds);
 
+  /**
+   * Creates the resources with bounded concurrency. Failures do not stop the batch; the result
+   * holds the outcome of each request in request order. The requests are always sent directly,
+   * even in write-behind mode.
+   */
+  List<BulkResult<IRN>> createResources(HttpHeader authorizationHeader,
+      List<CreateResourceRequestDto> requests);
+
+  List<BulkResult<IRN>> createResources(HttpHeader authorizationHeader, String application,
+      String tenantId, String resourceType, String resourcePath, List<String> resourceIds,
+      Set<String> poolIds);
+
   void updateResource(HttpHeader authorizationHeader, String application, String tenantId,
       String resourceType, String resourcePath, String resourceId, Set<String> poolIds);
 
+  void updateResource(HttpHeader authorizationHeader, String accountId, String application,
+      String tenantId, String resourceType, String resourcePath, String resourceId,
+      Set<String> poolIds);
+
+  /**
+   * Replaces the pools of many resources, patching them with bounded concurrency. Failures do not
+   * stop the batch. The updates are always sent directly, even in write-behind mode.
+   *
+   * @param poolIds the new pool IDs by resource ID. A resource mapped to {@code null} is left
+   *     unchanged, as with {@code updateResource}, and reported as succeeded.
+   * @return the outcome of each update by resource ID, in the iteration order of {@code poolIds}.
+   */
+  Map<String, BulkResult<Void>> updateResources(HttpHeader authorizationHeader, String application,
+      String tenantId, String resourceType, String resourcePath, Map<String, Set<String>> poolIds);
+
+  Map<String, BulkResult<Void>> updateResources(HttpHeader authorizationHeader, String accountId,
+      String application, String tenantId, String resourceType, String resourcePath,
+      Map<String, Set<String>> poolIds);
+
   void deleteResource(HttpHeader authorizationHeader, String application, String tenantId,
       String resourceType, String resourcePath, String resourceId);
 
+  void deleteResource(HttpHeader authorizationHeader, String accountId, String application,
+      String tenantId, String resourceType, String resourcePath, String resourceId);
+
   List<ResourceTypeDto> getResourceTypes(HttpHeader authorizationHeader, String accountId,
       String application);
 
   void deleteResources(HttpHeader authorizationHeader, String application, String tenantId,
       String resourceType, String resourcePath, Set<String> resourceIds);
 
+  void deleteResources(HttpHeader authorizationHeader, String accountId, String application,
+      String tenantId, String resourceType, String resourcePath, Set<String> resourceIds);
+
   void createResourceType(HttpHeader authorizationHeader, String accountId, String application,
       String type, String description, String actionPrefix, Set<String> operations);
 
@@ -48,4 +107,12 @@ public interface Client {
   HttpHeader getTenantApiKeyHeader(String accountId, String tenantId);
 
   Set<String> getPoolIds(HttpHeader authorizationHeader, PoolsQueryFilter filter);
+
+  PoolIndex getPoolIndex(HttpHeader authorizationHeader);
+
+  /**
+   * Releases the threads and files held by the client. The client must not be used afterwards.
+   */
+  @Override
+  void close();
 }
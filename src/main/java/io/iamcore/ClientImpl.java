@@ -1,15 +1,31 @@
 package io.iamcore;
 
+import static io.iamcore.authentication.context.SecurityContextHolder.getSecurityContext;
 import static io.iamcore.authentication.context.SecurityContextHolder.initializeSecurityContext;
+import static io.iamcore.authentication.context.SecurityContextHolder.isSecurityContextInitialized;
 
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.iamcore.authentication.AnonymousAuthenticator;
 import io.iamcore.authentication.Authenticator;
 import io.iamcore.authentication.HttpHeaderAuthenticator;
+import io.iamcore.authentication.PrincipalIrnCache;
 import io.iamcore.authentication.context.SecurityContext;
+import io.iamcore.cache.AuthorizationDecisionCache;
+import io.iamcore.cache.ExpiringCache;
+import io.iamcore.cache.HeaderDigest;
+import io.iamcore.cache.PoolIndex;
+import io.iamcore.cache.PoolIndexCache;
+import io.iamcore.cache.ResourceTypeRegistry;
+import io.iamcore.cache.SingleFlight;
+import io.iamcore.cache.StaleWhileRevalidateCache;
+import io.iamcore.exception.BulkOperationException;
 import io.iamcore.exception.SdkException;
+import io.iamcore.filter.DbQueryFilter;
+import io.iamcore.filter.DbQueryFilterParser;
+import io.iamcore.server.AsyncServerClient;
 import io.iamcore.server.ServerClient;
 import io.iamcore.server.ServerClientImpl;
 import io.iamcore.server.dto.CreateResourceRequestDto;
@@ -20,10 +36,21 @@ import io.iamcore.server.dto.PoolResponse;
 import io.iamcore.server.dto.PoolsQueryFilter;
 import io.iamcore.server.dto.ResourceTypeDto;
 import io.iamcore.server.dto.UpdateResourceRequestDto;
+import io.iamcore.writebehind.ResourceIntent;
+import io.iamcore.writebehind.WriteBehindQueue;
 import jakarta.servlet.http.HttpServletRequest;
+import java.net.http.HttpClient;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ClientImpl implements Client {
@@ -31,32 +58,151 @@ public class ClientImpl implements Client {
   public static final String AUTHORIZATION_HEADER_NAME = "Authorization";
   public static final String API_KEY_HEADER_NAME = "X-iamcore-API-Key";
 
+  private static final String BLACKBIRD_MODULE_CLASS_NAME =
+      "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
   private final Authenticator[] authenticators;
   private final AnonymousAuthenticator anonymousAuthenticator;
   private final boolean disabled;
   private final HttpHeader apiKeyHeader;
+  private final ServerClientImpl serverClientImpl;
   private final ServerClient serverClient;
+  private final AsyncServerClient asyncServerClient;
+  private final AuthorizationDecisionCache authorizationCache;
+  private final StaleWhileRevalidateCache<DbQueryFilterKey, String> dbQueryFilterCache;
+  private final DbQueryFilterParser dbQueryFilterParser;
+  private final ResourceTypeRegistry resourceTypeRegistry;
+  private final PoolIndexCache poolIndexCache;
+  private final WriteBehindQueue writeBehindQueue;
+  private final PrincipalIrnCache principalIrnCache;
+  private final Executor taskExecutor;
+  private final ExecutorService ownedExecutor;
+  private final ExpiringCache<TenantKey, HttpHeader> tenantApiKeyHeaders;
+  private final SingleFlight<TenantKey, HttpHeader> tenantApiKeyLoads = new SingleFlight<>();
+  private final int evaluationChunkSize;
+  private final int evaluationParallelism;
+  private final int bulkParallelism;
+  private final int deleteChunkSize;
+  private final long deleteChunkMaxBytes;
 
   public ClientImpl(ClientProperties properties) {
     ObjectMapper objectMapper = new ObjectMapper();
     objectMapper.registerModule(new JavaTimeModule());
     objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
 
-    ServerClient serverClient = new ServerClientImpl(properties.getServerUrl(), objectMapper);
+    if (properties.isJacksonBlackbirdEnabled()) {
+      objectMapper.registerModule(createBlackbirdModule());
+    }
+
+    this.ownedExecutor = properties.getExecutor() == null
+        ? Executors.newVirtualThreadPerTaskExecutor()
+        : null;
+    Executor executor = ownedExecutor == null ? properties.getExecutor() : ownedExecutor;
+
+    ServerClientImpl serverClient = new ServerClientImpl(properties, objectMapper,
+        createHttpClient(properties, httpClientExecutor(properties, executor)));
 
+    this.serverClientImpl = serverClient;
     this.serverClient = serverClient;
+    this.asyncServerClient = serverClient;
+    this.taskExecutor = executor;
+    this.evaluationChunkSize = properties.getEvaluationChunkSize();
+    this.evaluationParallelism = properties.getEvaluationParallelism();
+    this.bulkParallelism = properties.getBulkParallelism();
+    this.deleteChunkSize = properties.getDeleteChunkSize();
+    this.deleteChunkMaxBytes = properties.getDeleteChunkMaxBytes();
+    this.tenantApiKeyHeaders = new ExpiringCache<>(properties.getTenantApiKeyCacheMaxSize(),
+        properties.getTenantApiKeyRefreshInterval());
+    this.authorizationCache = properties.isAuthorizationCacheEnabled()
+        ? new AuthorizationDecisionCache(properties.getAuthorizationCacheMaxSize(),
+        properties.getAuthorizationCacheTtl())
+        : null;
+    this.dbQueryFilterCache = properties.isDbQueryFilterCacheEnabled()
+        ? new StaleWhileRevalidateCache<>(properties.getDbQueryFilterCacheMaxSize(),
+        properties.getDbQueryFilterCacheTtl(),
+        properties.getDbQueryFilterCacheStaleWhileRevalidate())
+        : null;
+    this.resourceTypeRegistry = properties.isResourceTypeCacheEnabled()
+        ? new ResourceTypeRegistry(serverClient, properties.getResourceTypeCacheMaxSize(),
+        properties.getResourceTypeCacheRefreshInterval(),
+        properties.getResourceTypeCacheMaxStaleness())
+        : null;
+    this.poolIndexCache = properties.isPoolIndexEnabled()
+        ? new PoolIndexCache(serverClient, properties.getPoolIndexMaxSize(),
+        properties.getPoolIndexRefreshInterval(), properties.getPoolIndexMaxStaleness())
+        : null;
+    this.dbQueryFilterParser =
+        new DbQueryFilterParser(properties.getDbQueryFilterParseCacheMaxSize(),
+            properties.getDbQueryFilterParseCacheTtl());
     this.disabled = properties.isDisabled();
     this.apiKeyHeader = new HttpHeader(API_KEY_HEADER_NAME, properties.getApiKey());
 
+    this.principalIrnCache = properties.isPrincipalCacheEnabled()
+        ? new PrincipalIrnCache(serverClient, properties.getPrincipalCacheMaxSize(),
+        properties.getPrincipalCacheTtl())
+        : null;
+
     HttpHeaderAuthenticator bearerAuthenticator = new HttpHeaderAuthenticator(serverClient,
-        AUTHORIZATION_HEADER_NAME);
+        principalIrnCache, AUTHORIZATION_HEADER_NAME);
     HttpHeaderAuthenticator apiKeyAuthenticator = new HttpHeaderAuthenticator(serverClient,
-        API_KEY_HEADER_NAME);
+        principalIrnCache, API_KEY_HEADER_NAME);
     this.authenticators = new Authenticator[]{
         bearerAuthenticator,
         apiKeyAuthenticator,
     };
-    this.anonymousAuthenticator = new AnonymousAuthenticator(serverClient);
+    this.writeBehindQueue = properties.getWriteBehindJournalPath() == null
+        ? null
+        : new WriteBehindQueue(properties.getWriteBehindJournalPath(), objectMapper,
+            serverClient, apiKeyHeader, properties.getWriteBehindBatchSize(),
+            properties.getBulkParallelism(), properties.getWriteBehindDrainInterval(),
+            properties.getWriteBehindRetryBackoff());
+    this.anonymousAuthenticator = new AnonymousAuthenticator(serverClient,
+        properties.getAnonymousPrincipalIrn(), properties.getAnonymousPrincipalRefreshInterval());
+  }
+
+  private static Module createBlackbirdModule() {
+    try {
+      return (Module) Class.forName(BLACKBIRD_MODULE_CLASS_NAME)
+          .getDeclaredConstructor()
+          .newInstance();
+    } catch (ReflectiveOperationException | LinkageError ex) {
+      throw new SdkException("Jackson Blackbird module is enabled but not available: "
+          + ex.getMessage());
+    }
+  }
+
+  /**
+   * The HTTP client keeps its default executor unless one was configured or virtual threads are
+   * enabled, in which case it shares the executor used for the SDK's own tasks.
+   */
+  private static Executor httpClientExecutor(ClientProperties properties, Executor executor) {
+    if (properties.getExecutor() != null || properties.isVirtualThreadsEnabled()) {
+      return executor;
+    }
+
+    return null;
+  }
+
+  private static HttpClient createHttpClient(ClientProperties properties, Executor executor) {
+    if (properties.getHttpClient() != null) {
+      return properties.getHttpClient();
+    }
+
+    HttpClient.Builder builder = HttpClient.newBuilder();
+
+    if (executor != null) {
+      builder.executor(executor);
+    }
+
+    if (properties.getConnectTimeout() != null) {
+      builder.connectTimeout(properties.getConnectTimeout());
+    }
+
+    if (properties.getHttpVersion() != null) {
+      builder.version(properties.getHttpVersion());
+    }
+
+    return builder.build();
   }
 
   @Override
@@ -82,54 +228,155 @@ public class ClientImpl implements Client {
   public Set<String> authorizeResources(HttpHeader authorizationHeader, String accountId,
       String application, String tenantId, String resourceType, String resourcePath,
       Set<String> resourceIds, String action) {
-    return authorize(authorizationHeader, accountId, application, tenantId, resourceType,
-        resourcePath, resourceIds, action,
+    return toResourceIds(authorize(authorizationHeader, accountId, application, tenantId,
+        resourceType, resourcePath, resourceIds, action, false,
         resourceIrns -> serverClient.authorizedOnResources(authorizationHeader, action,
-            resourceIrns)).stream()
-        .map(IRN::getResourceId)
-        .collect(Collectors.toSet());
+            resourceIrns)));
   }
 
   @Override
   public Set<String> authorizeIrns(HttpHeader authorizationHeader, String accountId,
       String application, String tenantId, String resourceType, String resourcePath,
       Set<String> resourceIds, String action) {
-    return authorize(authorizationHeader, accountId, application, tenantId,
-        resourceType, resourcePath, resourceIds, action, resourceIrns -> {
+    return toResourceIds(authorize(authorizationHeader, accountId, application, tenantId,
+        resourceType, resourcePath, resourceIds, action, true, resourceIrns -> {
           serverClient.authorizedOnIrns(authorizationHeader, action, resourceIrns);
           return resourceIrns;
-        }).stream()
-        .map(IRN::getResourceId)
-        .collect(Collectors.toSet());
+        }));
+  }
+
+  @Override
+  public CompletableFuture<Set<String>> authorizeResourcesAsync(HttpHeader authorizationHeader,
+      String accountId, String application, String tenantId, String resourceType,
+      String resourcePath, Set<String> resourceIds, String action) {
+    return authorizeAsync(authorizationHeader, accountId, application, tenantId, resourceType,
+        resourcePath, resourceIds, action, false,
+        resourceIrns -> asyncServerClient.authorizedOnResourcesAsync(authorizationHeader, action,
+            resourceIrns))
+        .thenApply(ClientImpl::toResourceIds);
   }
 
+  @Override
+  public CompletableFuture<Set<String>> authorizeIrnsAsync(HttpHeader authorizationHeader,
+      String accountId, String application, String tenantId, String resourceType,
+      String resourcePath, Set<String> resourceIds, String action) {
+    return authorizeAsync(authorizationHeader, accountId, application, tenantId, resourceType,
+        resourcePath, resourceIds, action, true,
+        resourceIrns -> asyncServerClient.authorizedOnIrnsAsync(authorizationHeader, action,
+                resourceIrns)
+            .thenApply(ignored -> resourceIrns))
+        .thenApply(ClientImpl::toResourceIds);
+  }
+
+  /**
+   * Authorizes the resources, or the whole resource type when no resource IDs are given.
+   *
+   * @param allOrNothing whether the authorizer rejects the request when any resource is denied.
+   */
   private List<IRN> authorize(HttpHeader authorizationHeader, String accountId,
       String application, String tenantId, String resourceType, String resourcePath,
-      Set<String> resourceIds, String action, Authorizer authorizer) {
-    if (disabled) {
-      throw new SdkException("Iamcore disabled");
+      Set<String> resourceIds, String action, boolean allOrNothing, Authorizer authorizer) {
+    validateAuthorization(action);
+
+    if (resourceIds != null && !resourceIds.isEmpty()) {
+      List<IRN> resourceIrns = toResourceIrns(accountId, application, tenantId, resourceType,
+          resourcePath, resourceIds);
+      Authorizer chunkedAuthorizer = chunked(authorizer);
+
+      if (authorizationCache == null) {
+        return chunkedAuthorizer.authorize(resourceIrns);
+      }
+
+      return authorizationCache.authorize(authorizationHeader, action, resourceIrns,
+          allOrNothing, chunkedAuthorizer);
     }
 
-    if (StringUtils.isEmpty(action)) {
-      throw new SdkException("Action must be defined");
+    return serverClient.authorizedOnResourceType(authorizationHeader, action, application, tenantId,
+        resourceType);
+  }
+
+  private CompletableFuture<List<IRN>> authorizeAsync(HttpHeader authorizationHeader,
+      String accountId, String application, String tenantId, String resourceType,
+      String resourcePath, Set<String> resourceIds, String action, boolean allOrNothing,
+      Function<List<IRN>, CompletableFuture<List<IRN>>> authorizer) {
+    try {
+      validateAuthorization(action);
+    } catch (SdkException ex) {
+      return CompletableFuture.failedFuture(ex);
     }
 
     if (resourceIds != null && !resourceIds.isEmpty()) {
-      List<IRN> resourceIrns = resourceIds.stream()
-          .map(resourceId -> IRN.of(accountId, application, tenantId, null, resourceType,
-              resourcePath, resourceId))
-          .collect(Collectors.toList());
+      List<IRN> resourceIrns = toResourceIrns(accountId, application, tenantId, resourceType,
+          resourcePath, resourceIds);
+      Function<List<IRN>, CompletableFuture<List<IRN>>> chunkedAuthorizer =
+          chunkedAsync(authorizer);
+
+      if (authorizationCache == null) {
+        return chunkedAuthorizer.apply(resourceIrns);
+      }
 
-      return authorizer.authorize(resourceIrns);
+      return authorizationCache.authorizeAsync(authorizationHeader, action, resourceIrns,
+          allOrNothing, chunkedAuthorizer);
     }
 
-    return serverClient.authorizedOnResourceType(authorizationHeader, action, application, tenantId,
-        resourceType);
+    return asyncServerClient.authorizedOnResourceTypeAsync(authorizationHeader, action,
+        application, tenantId, resourceType);
   }
 
-  @Override
-  public String authorizationDbQueryFilter(HttpHeader authorizationHeader, String action,
-      Database database) {
+  /**
+   * Splits large resource lists into chunks evaluated in parallel. The first failing chunk fails
+   * the whole evaluation and no further chunks are started.
+   */
+  private Authorizer chunked(Authorizer authorizer) {
+    return resourceIrns -> {
+      if (resourceIrns.size() <= evaluationChunkSize) {
+        return authorizer.authorize(resourceIrns);
+      }
+
+      return await(ParallelExecution.mapAsync(
+          ParallelExecution.partition(resourceIrns, evaluationChunkSize), evaluationParallelism,
+          chunk -> CompletableFuture.supplyAsync(() -> authorizer.authorize(chunk), taskExecutor))
+          .thenApply(ClientImpl::flatten));
+    };
+  }
+
+  private Function<List<IRN>, CompletableFuture<List<IRN>>> chunkedAsync(
+      Function<List<IRN>, CompletableFuture<List<IRN>>> authorizer) {
+    return resourceIrns -> {
+      if (resourceIrns.size() <= evaluationChunkSize) {
+        return authorizer.apply(resourceIrns);
+      }
+
+      return ParallelExecution.mapAsync(
+          ParallelExecution.partition(resourceIrns, evaluationChunkSize), evaluationParallelism,
+          authorizer)
+          .thenApply(ClientImpl::flatten);
+    };
+  }
+
+  private static List<IRN> flatten(List<List<IRN>> chunks) {
+    return chunks.stream()
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+
+      throw new SdkException("Interrupted while waiting for iamcore: " + ex.getMessage());
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new SdkException("Iamcore request failed: " + ex.getCause().getMessage());
+    }
+  }
+
+  private void validateAuthorization(String action) {
     if (disabled) {
       throw new SdkException("Iamcore disabled");
     }
@@ -137,12 +384,80 @@ public class ClientImpl implements Client {
     if (StringUtils.isEmpty(action)) {
       throw new SdkException("Action must be defined");
     }
+  }
+
+  private static List<IRN> toResourceIrns(String accountId, String application, String tenantId,
+      String resourceType, String resourcePath, Set<String> resourceIds) {
+    return resourceIds.stream()
+        .map(resourceId -> IRN.of(accountId, application, tenantId, null, resourceType,
+            resourcePath, resourceId))
+        .collect(Collectors.toList());
+  }
+
+  private static Set<String> toResourceIds(List<IRN> resourceIrns) {
+    return resourceIrns.stream()
+        .map(IRN::getResourceId)
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public String authorizationDbQueryFilter(HttpHeader authorizationHeader, String action,
+      Database database) {
+    validateDbQueryFilter(action, database);
+
+    if (dbQueryFilterCache == null) {
+      return serverClient.authorizationDbQueryFilter(authorizationHeader, action, database);
+    }
+
+    return dbQueryFilterCache.get(dbQueryFilterKey(authorizationHeader, action, database),
+        () -> asyncServerClient.authorizationDbQueryFilterAsync(authorizationHeader, action,
+            database));
+  }
+
+  @Override
+  public CompletableFuture<String> authorizationDbQueryFilterAsync(HttpHeader authorizationHeader,
+      String action, Database database) {
+    try {
+      validateDbQueryFilter(action, database);
+    } catch (SdkException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+
+    if (dbQueryFilterCache == null) {
+      return asyncServerClient.authorizationDbQueryFilterAsync(authorizationHeader, action,
+          database);
+    }
+
+    return dbQueryFilterCache.getAsync(dbQueryFilterKey(authorizationHeader, action, database),
+        () -> asyncServerClient.authorizationDbQueryFilterAsync(authorizationHeader, action,
+            database));
+  }
+
+  @Override
+  public DbQueryFilter authorizationDbQueryFilterParsed(HttpHeader authorizationHeader,
+      String action, Database database) {
+    return dbQueryFilterParser.parse(database,
+        authorizationDbQueryFilter(authorizationHeader, action, database));
+  }
+
+  @Override
+  public CompletableFuture<DbQueryFilter> authorizationDbQueryFilterParsedAsync(
+      HttpHeader authorizationHeader, String action, Database database) {
+    return authorizationDbQueryFilterAsync(authorizationHeader, action, database)
+        .thenApply(filter -> dbQueryFilterParser.parse(database, filter));
+  }
+
+  private static DbQueryFilterKey dbQueryFilterKey(HttpHeader authorizationHeader, String action,
+      Database database) {
+    return new DbQueryFilterKey(HeaderDigest.of(authorizationHeader), action, database);
+  }
+
+  private void validateDbQueryFilter(String action, Database database) {
+    validateAuthorization(action);
 
     if (database == null) {
       throw new SdkException("Database must be defined");
     }
-
-    return serverClient.authorizationDbQueryFilter(authorizationHeader, action, database);
   }
 
   @Override
@@ -158,9 +473,55 @@ public class ClientImpl implements Client {
       throw new SdkException("Iamcore disabled");
     }
 
-    CreateResourceRequestDto requestDto = new CreateResourceRequestDto(application, tenantId,
-        resourceType, resourcePath, resourceId, true, poolIds);
-    return serverClient.createResource(authorizationHeader, requestDto);
+    IRN resourceIrn;
+    if (isWrittenBehind(authorizationHeader)) {
+      ResourceIntent intent = writeBehindQueue.enqueue(ResourceIntent.create(
+          resolveAccountId(authorizationHeader), application, tenantId, resourceType,
+          resourcePath, resourceId, poolIds));
+      resourceIrn = intent.getResourceIrn();
+    } else {
+      CreateResourceRequestDto requestDto = new CreateResourceRequestDto(application, tenantId,
+          resourceType, resourcePath, resourceId, true, poolIds);
+      resourceIrn = serverClient.createResource(authorizationHeader, requestDto);
+    }
+
+    if (poolIds != null && !poolIds.isEmpty()) {
+      invalidatePoolIndex();
+    }
+
+    return resourceIrn;
+  }
+
+  @Override
+  public List<BulkResult<IRN>> createResources(HttpHeader authorizationHeader,
+      List<CreateResourceRequestDto> requests) {
+    if (disabled) {
+      throw new SdkException("Iamcore disabled");
+    }
+
+    List<BulkResult<IRN>> results = await(ParallelExecution.mapEachAsync(requests,
+        bulkParallelism,
+        requestDto -> asyncServerClient.createResourceAsync(authorizationHeader, requestDto)));
+
+    boolean poolsAssigned = requests.stream()
+        .anyMatch(requestDto -> requestDto.poolIds() != null && !requestDto.poolIds().isEmpty());
+    if (poolsAssigned) {
+      invalidatePoolIndex();
+    }
+
+    return results;
+  }
+
+  @Override
+  public List<BulkResult<IRN>> createResources(HttpHeader authorizationHeader,
+      String application, String tenantId, String resourceType, String resourcePath,
+      List<String> resourceIds, Set<String> poolIds) {
+    List<CreateResourceRequestDto> requests = resourceIds.stream()
+        .map(resourceId -> new CreateResourceRequestDto(application, tenantId, resourceType,
+            resourcePath, resourceId, true, poolIds))
+        .toList();
+
+    return createResources(authorizationHeader, requests);
   }
 
   @Override
@@ -174,12 +535,78 @@ public class ClientImpl implements Client {
       return;
     }
 
-    IRN principalIrn = serverClient.getPrincipalIrn(authorizationHeader);
-    IRN resourceIrn = IRN.of(principalIrn.getAccountId(), application, tenantId, null, resourceType,
-        resourcePath, resourceId);
+    updateResource(authorizationHeader, resolveAccountId(authorizationHeader), application,
+        tenantId, resourceType, resourcePath, resourceId, poolIds);
+  }
+
+  @Override
+  public void updateResource(HttpHeader authorizationHeader, String accountId, String application,
+      String tenantId, String resourceType, String resourcePath, String resourceId,
+      Set<String> poolIds) {
+    if (disabled) {
+      throw new SdkException("Iamcore disabled");
+    }
+
+    if (poolIds == null) {
+      return;
+    }
+
+    if (isWrittenBehind(authorizationHeader)) {
+      writeBehindQueue.enqueue(ResourceIntent.update(accountId, application, tenantId,
+          resourceType, resourcePath, resourceId, poolIds));
+      invalidatePoolIndex();
+      return;
+    }
+
+    IRN resourceIrn = IRN.of(accountId, application, tenantId, null, resourceType, resourcePath,
+        resourceId);
 
     UpdateResourceRequestDto requestDto = new UpdateResourceRequestDto(poolIds);
     serverClient.updateResource(authorizationHeader, resourceIrn, requestDto);
+    invalidatePoolIndex();
+  }
+
+  @Override
+  public Map<String, BulkResult<Void>> updateResources(HttpHeader authorizationHeader,
+      String application, String tenantId, String resourceType, String resourcePath,
+      Map<String, Set<String>> poolIds) {
+    if (disabled) {
+      throw new SdkException("Iamcore disabled");
+    }
+
+    return updateResources(authorizationHeader, resolveAccountId(authorizationHeader),
+        application, tenantId, resourceType, resourcePath, poolIds);
+  }
+
+  @Override
+  public Map<String, BulkResult<Void>> updateResources(HttpHeader authorizationHeader,
+      String accountId, String application, String tenantId, String resourceType,
+      String resourcePath, Map<String, Set<String>> poolIds) {
+    if (disabled) {
+      throw new SdkException("Iamcore disabled");
+    }
+
+    List<Map.Entry<String, Set<String>>> updates = poolIds.entrySet().stream()
+        .filter(update -> update.getValue() != null)
+        .toList();
+
+    List<BulkResult<Void>> results = await(ParallelExecution.mapEachAsync(updates,
+        bulkParallelism, update -> {
+          IRN resourceIrn = IRN.of(accountId, application, tenantId, null, resourceType,
+              resourcePath, update.getKey());
+
+          return asyncServerClient.updateResourceAsync(authorizationHeader, resourceIrn,
+              new UpdateResourceRequestDto(update.getValue()));
+        }));
+    invalidatePoolIndex();
+
+    Map<String, BulkResult<Void>> outcomes = new LinkedHashMap<>();
+    poolIds.keySet().forEach(resourceId -> outcomes.put(resourceId, BulkResult.success(null)));
+    for (int i = 0; i < updates.size(); i++) {
+      outcomes.put(updates.get(i).getKey(), results.get(i));
+    }
+
+    return outcomes;
   }
 
   @Override
@@ -189,11 +616,29 @@ public class ClientImpl implements Client {
       throw new SdkException("Iamcore disabled");
     }
 
-    IRN principalIrn = serverClient.getPrincipalIrn(authorizationHeader);
-    IRN resourceIrn = IRN.of(principalIrn.getAccountId(), application, tenantId, null, resourceType,
-        resourcePath, resourceId);
+    deleteResource(authorizationHeader, resolveAccountId(authorizationHeader), application,
+        tenantId, resourceType, resourcePath, resourceId);
+  }
+
+  @Override
+  public void deleteResource(HttpHeader authorizationHeader, String accountId, String application,
+      String tenantId, String resourceType, String resourcePath, String resourceId) {
+    if (disabled) {
+      throw new SdkException("Iamcore disabled");
+    }
+
+    if (isWrittenBehind(authorizationHeader)) {
+      writeBehindQueue.enqueue(ResourceIntent.delete(accountId, application, tenantId,
+          resourceType, resourcePath, resourceId));
+      invalidatePoolIndex();
+      return;
+    }
+
+    IRN resourceIrn = IRN.of(accountId, application, tenantId, null, resourceType, resourcePath,
+        resourceId);
 
     serverClient.deleteResource(authorizationHeader, resourceIrn);
+    invalidatePoolIndex();
   }
 
   @Override
@@ -203,15 +648,118 @@ public class ClientImpl implements Client {
       throw new SdkException("Iamcore disabled");
     }
 
-    IRN principalIrn = serverClient.getPrincipalIrn(authorizationHeader);
+    deleteResources(authorizationHeader, resolveAccountId(authorizationHeader), application,
+        tenantId, resourceType, resourcePath, resourceIds);
+  }
+
+  @Override
+  public void deleteResources(HttpHeader authorizationHeader, String accountId,
+      String application, String tenantId, String resourceType, String resourcePath,
+      Set<String> resourceIds) {
+    if (disabled) {
+      throw new SdkException("Iamcore disabled");
+    }
+
+    if (isWrittenBehind(authorizationHeader)) {
+      resourceIds.forEach(resourceId -> writeBehindQueue.enqueue(ResourceIntent.delete(accountId,
+          application, tenantId, resourceType, null, resourceId)));
+      invalidatePoolIndex();
+      return;
+    }
 
     List<IRN> irns = resourceIds.stream()
-        .map(resourceId -> IRN.of(principalIrn.getAccountId(), application, tenantId, null,
-            resourceType, null, resourceId))
+        .map(resourceId -> IRN.of(accountId, application, tenantId, null, resourceType, null,
+            resourceId))
         .collect(Collectors.toList());
-    DeleteResourcesRequestDto request = new DeleteResourcesRequestDto(irns);
+    List<List<IRN>> chunks = ParallelExecution.partition(irns, deleteChunkSize,
+        deleteChunkMaxBytes, ClientImpl::deleteRequestWeight);
+
+    try {
+      if (chunks.size() <= 1) {
+        serverClient.deleteResources(authorizationHeader, new DeleteResourcesRequestDto(irns));
+      } else {
+        deleteChunks(authorizationHeader, chunks);
+      }
+    } finally {
+      invalidatePoolIndex();
+    }
+  }
 
-    serverClient.deleteResources(authorizationHeader, request);
+  /**
+   * Deletes the chunks in parallel. Failed chunks do not stop the others; they are reported
+   * together once every chunk has completed.
+   */
+  private void deleteChunks(HttpHeader authorizationHeader, List<List<IRN>> chunks) {
+    List<BulkResult<Void>> results = await(ParallelExecution.mapEachAsync(chunks,
+        bulkParallelism, chunk -> asyncServerClient.deleteResourcesAsync(authorizationHeader,
+            new DeleteResourcesRequestDto(chunk))));
+
+    int succeededCount = 0;
+    Map<String, RuntimeException> failures = new LinkedHashMap<>();
+    for (int i = 0; i < chunks.size(); i++) {
+      BulkResult<Void> result = results.get(i);
+
+      if (result.isSuccess()) {
+        succeededCount += chunks.get(i).size();
+      } else {
+        chunks.get(i).forEach(irn -> failures.put(irn.getResourceId(), result.error()));
+      }
+    }
+
+    if (!failures.isEmpty()) {
+      RuntimeException firstError = failures.values().iterator().next();
+      throw new BulkOperationException("Failed to delete " + failures.size() + " of "
+          + (succeededCount + failures.size()) + " resources: " + firstError.getMessage(),
+          succeededCount, failures);
+    }
+  }
+
+  /**
+   * Write-behind intents are applied with the application API key, so only writes made with that
+   * same key are journaled. Any other caller is sent to the server synchronously, which checks
+   * the caller's own permissions.
+   */
+  private boolean isWrittenBehind(HttpHeader authorizationHeader) {
+    return writeBehindQueue != null
+        && authorizationHeader != null
+        && authorizationHeader.getName().equalsIgnoreCase(apiKeyHeader.getName())
+        && authorizationHeader.getValue().equals(apiKeyHeader.getValue());
+  }
+
+  /**
+   * Approximates the bytes an IRN adds to a delete request: its quoted Base64 form and a comma.
+   */
+  private static long deleteRequestWeight(IRN irn) {
+    return irn.toBase64().length() + 3L;
+  }
+
+  /**
+   * Resolves the account of the principal behind the header without a server round-trip when
+   * possible: from the current security context if it was authenticated with the same header,
+   * otherwise from the principal cache.
+   */
+  private String resolveAccountId(HttpHeader authorizationHeader) {
+    if (authorizationHeader == null) {
+      throw new SdkException("Authorization header must be defined");
+    }
+
+    if (isSecurityContextInitialized()) {
+      SecurityContext securityContext = getSecurityContext();
+      boolean sameHeader = securityContext.getAuthorizationHeader()
+          .filter(header -> header.getName().equalsIgnoreCase(authorizationHeader.getName())
+              && header.getValue().equals(authorizationHeader.getValue()))
+          .isPresent();
+
+      if (sameHeader) {
+        return securityContext.getPrincipalIrn().getAccountId();
+      }
+    }
+
+    IRN principalIrn = principalIrnCache == null
+        ? serverClient.getPrincipalIrn(authorizationHeader)
+        : principalIrnCache.getPrincipalIrn(authorizationHeader);
+
+    return principalIrn.getAccountId();
   }
 
   @Override
@@ -227,6 +775,10 @@ public class ClientImpl implements Client {
         actionPrefix, operations);
 
     serverClient.createResourceType(authorizationHeader, applicationIrn, requestDto);
+
+    if (resourceTypeRegistry != null) {
+      resourceTypeRegistry.invalidateAll();
+    }
   }
 
   @Override
@@ -238,6 +790,10 @@ public class ClientImpl implements Client {
 
     IRN applicationIrn = IRN.of(accountId, "iamcore", "", null, "application", null, application);
 
+    if (resourceTypeRegistry != null) {
+      return resourceTypeRegistry.getResourceTypes(authorizationHeader, applicationIrn);
+    }
+
     return serverClient.getResourceTypes(authorizationHeader, applicationIrn);
   }
 
@@ -252,11 +808,32 @@ public class ClientImpl implements Client {
       throw new SdkException("Iamcore disabled");
     }
 
-    IRN tenantIrn = IRN.of(accountId, "iamcore", tenantId, null, "tenant", null, tenantId);
+    TenantKey tenantKey = new TenantKey(accountId, tenantId);
+
+    return tenantApiKeyHeaders.get(tenantKey)
+        .orElseGet(() ->
+            tenantApiKeyLoads.execute(tenantKey, () -> loadTenantApiKeyHeader(tenantKey)));
+  }
+
+  /**
+   * Fetches the tenant API key, creating one if the tenant has none. Runs at most once at a time
+   * per tenant, so concurrent callers never mint more than one key.
+   */
+  private HttpHeader loadTenantApiKeyHeader(TenantKey tenantKey) {
+    Optional<HttpHeader> cachedHeader = tenantApiKeyHeaders.get(tenantKey);
+    if (cachedHeader.isPresent()) {
+      return cachedHeader.get();
+    }
+
+    IRN tenantIrn = IRN.of(tenantKey.accountId(), "iamcore", tenantKey.tenantId(), null, "tenant",
+        null, tenantKey.tenantId());
     String apiKey = serverClient.getPrincipalApiKey(apiKeyHeader, tenantIrn)
         .orElseGet(() -> serverClient.createPrincipalApiKey(apiKeyHeader, tenantIrn));
 
-    return new HttpHeader(API_KEY_HEADER_NAME, apiKey);
+    HttpHeader header = new HttpHeader(API_KEY_HEADER_NAME, apiKey);
+    tenantApiKeyHeaders.put(tenantKey, header);
+
+    return header;
   }
 
   @Override
@@ -265,8 +842,58 @@ public class ClientImpl implements Client {
       throw new SdkException("Iamcore disabled");
     }
 
-    return serverClient.getPools(authorizationHeader, filter).stream()
+    List<PoolResponse> pools = poolIndexCache == null
+        ? serverClient.getPools(authorizationHeader, filter)
+        : poolIndexCache.getPoolIndex(authorizationHeader).find(filter);
+
+    return pools.stream()
         .map(PoolResponse::id)
         .collect(Collectors.toSet());
   }
+
+  @Override
+  public PoolIndex getPoolIndex(HttpHeader authorizationHeader) {
+    if (disabled) {
+      throw new SdkException("Iamcore disabled");
+    }
+
+    if (poolIndexCache == null) {
+      return new PoolIndex(serverClient.getPools(authorizationHeader,
+          new PoolsQueryFilter(null, null, null)));
+    }
+
+    return poolIndexCache.getPoolIndex(authorizationHeader);
+  }
+
+  /**
+   * Stops the background work of the client. Write-behind intents that are still pending stay in
+   * the journal and are applied by the next client opened on it.
+   */
+  @Override
+  public void close() {
+    anonymousAuthenticator.close();
+
+    if (writeBehindQueue != null) {
+      writeBehindQueue.close();
+    }
+
+    serverClientImpl.close();
+
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Pool membership changed, so no cached pool index can be trusted anymore.
+   */
+  private void invalidatePoolIndex() {
+    if (poolIndexCache != null) {
+      poolIndexCache.invalidateAll();
+    }
+  }
+
+  private record TenantKey(String accountId, String tenantId) {}
+
+  private record DbQueryFilterKey(String principal, String action, Database database) {}
 }
@@ -1,17 +1,116 @@
 package io.iamcore;
 
 import io.iamcore.exception.SdkException;
+import io.iamcore.metrics.MetricsRecorder;
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
 
 public class ClientProperties {
 
   private static final String API_KEY_ENV_KEY = "IAMCORE_API_KEY";
   private static final String IAMCORE_URL_ENV_KEY = "IAMCORE_URL";
   private static final String DEFAULT_IAMCORE_URL = "https://cloud.iamcore.io";
+  private static final int DEFAULT_PRINCIPAL_CACHE_MAX_SIZE = 10000;
+  private static final Duration DEFAULT_PRINCIPAL_CACHE_TTL = Duration.ofSeconds(30);
+  private static final int DEFAULT_AUTHORIZATION_CACHE_MAX_SIZE = 100000;
+  private static final Duration DEFAULT_AUTHORIZATION_CACHE_TTL = Duration.ofSeconds(10);
+  private static final int DEFAULT_DB_QUERY_FILTER_CACHE_MAX_SIZE = 10000;
+  private static final Duration DEFAULT_DB_QUERY_FILTER_CACHE_TTL = Duration.ofSeconds(30);
+  private static final Duration DEFAULT_DB_QUERY_FILTER_CACHE_STALE_WHILE_REVALIDATE =
+      Duration.ofSeconds(30);
+  private static final int DEFAULT_DB_QUERY_FILTER_PARSE_CACHE_MAX_SIZE = 1000;
+  private static final Duration DEFAULT_DB_QUERY_FILTER_PARSE_CACHE_TTL = Duration.ofHours(1);
+  private static final int DEFAULT_EVALUATION_BATCH_MAX_SIZE = 500;
+  private static final int DEFAULT_EVALUATION_CHUNK_SIZE = Integer.MAX_VALUE;
+  private static final int DEFAULT_EVALUATION_PARALLELISM = 4;
+  private static final int DEFAULT_PAGE_SIZE = 1000;
+  private static final int DEFAULT_BULK_PARALLELISM = 16;
+  private static final int DEFAULT_WRITE_BEHIND_BATCH_SIZE = 100;
+  private static final Duration DEFAULT_WRITE_BEHIND_DRAIN_INTERVAL = Duration.ofSeconds(1);
+  private static final Duration DEFAULT_WRITE_BEHIND_RETRY_BACKOFF = Duration.ofSeconds(1);
+  private static final int DEFAULT_DELETE_CHUNK_SIZE = 1000;
+  private static final long DEFAULT_DELETE_CHUNK_MAX_BYTES = 1024 * 1024;
+  private static final int DEFAULT_RESOURCE_TYPE_CACHE_MAX_SIZE = 1000;
+  private static final Duration DEFAULT_RESOURCE_TYPE_CACHE_REFRESH_INTERVAL =
+      Duration.ofMinutes(1);
+  private static final Duration DEFAULT_RESOURCE_TYPE_CACHE_MAX_STALENESS = Duration.ofHours(1);
+  private static final int DEFAULT_POOL_INDEX_MAX_SIZE = 1000;
+  private static final Duration DEFAULT_POOL_INDEX_REFRESH_INTERVAL = Duration.ofMinutes(1);
+  private static final Duration DEFAULT_POOL_INDEX_MAX_STALENESS = Duration.ofMinutes(10);
+  private static final int DEFAULT_TENANT_API_KEY_CACHE_MAX_SIZE = 10000;
+  private static final Duration DEFAULT_TENANT_API_KEY_REFRESH_INTERVAL = Duration.ofMinutes(10);
+  private static final Duration DEFAULT_ANONYMOUS_PRINCIPAL_REFRESH_INTERVAL = Duration.ofMinutes(5);
+  private static final double DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 0.5;
+  private static final double DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD = 0.5;
+  private static final Duration DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION = Duration.ofSeconds(2);
+  private static final Duration DEFAULT_CIRCUIT_BREAKER_WINDOW = Duration.ofSeconds(10);
+  private static final int DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS = 20;
+  private static final Duration DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = Duration.ofSeconds(10);
+  private static final int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES = 3;
 
   private String apiKey;
   private URI serverUrl;
   private final boolean disabled;
+  private boolean principalCacheEnabled = true;
+  private int principalCacheMaxSize = DEFAULT_PRINCIPAL_CACHE_MAX_SIZE;
+  private Duration principalCacheTtl = DEFAULT_PRINCIPAL_CACHE_TTL;
+  private boolean authorizationCacheEnabled;
+  private int authorizationCacheMaxSize = DEFAULT_AUTHORIZATION_CACHE_MAX_SIZE;
+  private Duration authorizationCacheTtl = DEFAULT_AUTHORIZATION_CACHE_TTL;
+  private boolean dbQueryFilterCacheEnabled;
+  private int dbQueryFilterCacheMaxSize = DEFAULT_DB_QUERY_FILTER_CACHE_MAX_SIZE;
+  private Duration dbQueryFilterCacheTtl = DEFAULT_DB_QUERY_FILTER_CACHE_TTL;
+  private Duration dbQueryFilterCacheStaleWhileRevalidate =
+      DEFAULT_DB_QUERY_FILTER_CACHE_STALE_WHILE_REVALIDATE;
+  private int dbQueryFilterParseCacheMaxSize = DEFAULT_DB_QUERY_FILTER_PARSE_CACHE_MAX_SIZE;
+  private Duration dbQueryFilterParseCacheTtl = DEFAULT_DB_QUERY_FILTER_PARSE_CACHE_TTL;
+  private boolean resourceTypeCacheEnabled;
+  private int resourceTypeCacheMaxSize = DEFAULT_RESOURCE_TYPE_CACHE_MAX_SIZE;
+  private Duration resourceTypeCacheRefreshInterval = DEFAULT_RESOURCE_TYPE_CACHE_REFRESH_INTERVAL;
+  private Duration resourceTypeCacheMaxStaleness = DEFAULT_RESOURCE_TYPE_CACHE_MAX_STALENESS;
+  private boolean poolIndexEnabled;
+  private int poolIndexMaxSize = DEFAULT_POOL_INDEX_MAX_SIZE;
+  private Duration poolIndexRefreshInterval = DEFAULT_POOL_INDEX_REFRESH_INTERVAL;
+  private Duration poolIndexMaxStaleness = DEFAULT_POOL_INDEX_MAX_STALENESS;
+  private int tenantApiKeyCacheMaxSize = DEFAULT_TENANT_API_KEY_CACHE_MAX_SIZE;
+  private Duration tenantApiKeyRefreshInterval = DEFAULT_TENANT_API_KEY_REFRESH_INTERVAL;
+  private IRN anonymousPrincipalIrn;
+  private Duration anonymousPrincipalRefreshInterval = DEFAULT_ANONYMOUS_PRINCIPAL_REFRESH_INTERVAL;
+  private boolean requestCoalescingEnabled = true;
+  private Duration evaluationBatchWindow;
+  private int evaluationBatchMaxSize = DEFAULT_EVALUATION_BATCH_MAX_SIZE;
+  private int evaluationChunkSize = DEFAULT_EVALUATION_CHUNK_SIZE;
+  private int evaluationParallelism = DEFAULT_EVALUATION_PARALLELISM;
+  private int pageSize = DEFAULT_PAGE_SIZE;
+  private int bulkParallelism = DEFAULT_BULK_PARALLELISM;
+  private int deleteChunkSize = DEFAULT_DELETE_CHUNK_SIZE;
+  private Path writeBehindJournalPath;
+  private int writeBehindBatchSize = DEFAULT_WRITE_BEHIND_BATCH_SIZE;
+  private Duration writeBehindDrainInterval = DEFAULT_WRITE_BEHIND_DRAIN_INTERVAL;
+  private Duration writeBehindRetryBackoff = DEFAULT_WRITE_BEHIND_RETRY_BACKOFF;
+  private long deleteChunkMaxBytes = DEFAULT_DELETE_CHUNK_MAX_BYTES;
+  private boolean pagePrefetchEnabled;
+  private boolean jacksonBlackbirdEnabled;
+  private HttpClient httpClient;
+  private Executor executor;
+  private MetricsRecorder metricsRecorder;
+  private boolean virtualThreadsEnabled;
+  private Duration connectTimeout;
+  private Duration requestTimeout;
+  private boolean circuitBreakerEnabled;
+  private double circuitBreakerFailureRateThreshold =
+      DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD;
+  private double circuitBreakerSlowCallRateThreshold =
+      DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD;
+  private Duration circuitBreakerSlowCallDuration = DEFAULT_CIRCUIT_BREAKER_SLOW_CALL_DURATION;
+  private Duration circuitBreakerWindow = DEFAULT_CIRCUIT_BREAKER_WINDOW;
+  private int circuitBreakerMinimumCalls = DEFAULT_CIRCUIT_BREAKER_MINIMUM_CALLS;
+  private Duration circuitBreakerOpenDuration = DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+  private int circuitBreakerHalfOpenProbes = DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES;
+  private HttpClient.Version httpVersion;
 
   public ClientProperties(String apiKey, String serverUrl, boolean disabled) {
     if (!disabled) {
@@ -57,4 +156,691 @@ public class ClientProperties {
   public boolean isDisabled() {
     return disabled;
   }
+
+  public boolean isPrincipalCacheEnabled() {
+    return principalCacheEnabled;
+  }
+
+  /**
+   * Enables caching of principal IRNs resolved from authorization headers.
+   */
+  public void setPrincipalCacheEnabled(boolean principalCacheEnabled) {
+    this.principalCacheEnabled = principalCacheEnabled;
+  }
+
+  public int getPrincipalCacheMaxSize() {
+    return principalCacheMaxSize;
+  }
+
+  public void setPrincipalCacheMaxSize(int principalCacheMaxSize) {
+    if (principalCacheMaxSize <= 0) {
+      throw new SdkException("Principal cache max size must be positive");
+    }
+
+    this.principalCacheMaxSize = principalCacheMaxSize;
+  }
+
+  public Duration getPrincipalCacheTtl() {
+    return principalCacheTtl;
+  }
+
+  /**
+   * Sets how long a resolved principal IRN is reused. JWT tokens are never cached past their
+   * expiration time.
+   */
+  public void setPrincipalCacheTtl(Duration principalCacheTtl) {
+    this.principalCacheTtl = requirePositive(principalCacheTtl, "Principal cache TTL");
+  }
+
+  public boolean isAuthorizationCacheEnabled() {
+    return authorizationCacheEnabled;
+  }
+
+  /**
+   * Enables caching of resource authorization decisions. Policy changes become visible to cached
+   * principals only after the authorization cache TTL.
+   */
+  public void setAuthorizationCacheEnabled(boolean authorizationCacheEnabled) {
+    this.authorizationCacheEnabled = authorizationCacheEnabled;
+  }
+
+  public int getAuthorizationCacheMaxSize() {
+    return authorizationCacheMaxSize;
+  }
+
+  public void setAuthorizationCacheMaxSize(int authorizationCacheMaxSize) {
+    if (authorizationCacheMaxSize <= 0) {
+      throw new SdkException("Authorization cache max size must be positive");
+    }
+
+    this.authorizationCacheMaxSize = authorizationCacheMaxSize;
+  }
+
+  public Duration getAuthorizationCacheTtl() {
+    return authorizationCacheTtl;
+  }
+
+  public void setAuthorizationCacheTtl(Duration authorizationCacheTtl) {
+    this.authorizationCacheTtl = requirePositive(authorizationCacheTtl, "Authorization cache TTL");
+  }
+
+  public boolean isDbQueryFilterCacheEnabled() {
+    return dbQueryFilterCacheEnabled;
+  }
+
+  /**
+   * Enables caching of database query filters per principal, action and database. Policy changes
+   * become visible only after the cache TTL and the stale-while-revalidate period.
+   */
+  public void setDbQueryFilterCacheEnabled(boolean dbQueryFilterCacheEnabled) {
+    this.dbQueryFilterCacheEnabled = dbQueryFilterCacheEnabled;
+  }
+
+  public int getDbQueryFilterCacheMaxSize() {
+    return dbQueryFilterCacheMaxSize;
+  }
+
+  public void setDbQueryFilterCacheMaxSize(int dbQueryFilterCacheMaxSize) {
+    if (dbQueryFilterCacheMaxSize <= 0) {
+      throw new SdkException("Database query filter cache max size must be positive");
+    }
+
+    this.dbQueryFilterCacheMaxSize = dbQueryFilterCacheMaxSize;
+  }
+
+  public Duration getDbQueryFilterCacheTtl() {
+    return dbQueryFilterCacheTtl;
+  }
+
+  public void setDbQueryFilterCacheTtl(Duration dbQueryFilterCacheTtl) {
+    this.dbQueryFilterCacheTtl =
+        requirePositive(dbQueryFilterCacheTtl, "Database query filter cache TTL");
+  }
+
+  public Duration getDbQueryFilterCacheStaleWhileRevalidate() {
+    return dbQueryFilterCacheStaleWhileRevalidate;
+  }
+
+  /**
+   * Sets how long an expired filter is still returned while it is refreshed in the background.
+   * Zero disables stale reads.
+   */
+  public void setDbQueryFilterCacheStaleWhileRevalidate(
+      Duration dbQueryFilterCacheStaleWhileRevalidate) {
+    if (dbQueryFilterCacheStaleWhileRevalidate == null
+        || dbQueryFilterCacheStaleWhileRevalidate.isNegative()) {
+      throw new SdkException(
+          "Database query filter cache stale-while-revalidate period must not be negative");
+    }
+
+    this.dbQueryFilterCacheStaleWhileRevalidate = dbQueryFilterCacheStaleWhileRevalidate;
+  }
+
+  public int getDbQueryFilterParseCacheMaxSize() {
+    return dbQueryFilterParseCacheMaxSize;
+  }
+
+  /**
+   * Sets how many distinct raw filters are kept in their parsed form.
+   */
+  public void setDbQueryFilterParseCacheMaxSize(int dbQueryFilterParseCacheMaxSize) {
+    if (dbQueryFilterParseCacheMaxSize <= 0) {
+      throw new SdkException("Database query filter parse cache max size must be positive");
+    }
+
+    this.dbQueryFilterParseCacheMaxSize = dbQueryFilterParseCacheMaxSize;
+  }
+
+  public Duration getDbQueryFilterParseCacheTtl() {
+    return dbQueryFilterParseCacheTtl;
+  }
+
+  /**
+   * Sets how long a raw filter is kept in its parsed form. Parsing is deterministic, so this only
+   * bounds how long rarely used filters occupy the cache.
+   */
+  public void setDbQueryFilterParseCacheTtl(Duration dbQueryFilterParseCacheTtl) {
+    this.dbQueryFilterParseCacheTtl =
+        requirePositive(dbQueryFilterParseCacheTtl, "Database query filter parse cache TTL");
+  }
+
+  public boolean isResourceTypeCacheEnabled() {
+    return resourceTypeCacheEnabled;
+  }
+
+  /**
+   * Enables the resource type registry. Cached lists are revalidated in the background after the
+   * refresh interval, using conditional requests when the server provides validators.
+   */
+  public void setResourceTypeCacheEnabled(boolean resourceTypeCacheEnabled) {
+    this.resourceTypeCacheEnabled = resourceTypeCacheEnabled;
+  }
+
+  public int getResourceTypeCacheMaxSize() {
+    return resourceTypeCacheMaxSize;
+  }
+
+  public void setResourceTypeCacheMaxSize(int resourceTypeCacheMaxSize) {
+    if (resourceTypeCacheMaxSize <= 0) {
+      throw new SdkException("Resource type cache max size must be positive");
+    }
+
+    this.resourceTypeCacheMaxSize = resourceTypeCacheMaxSize;
+  }
+
+  public Duration getResourceTypeCacheRefreshInterval() {
+    return resourceTypeCacheRefreshInterval;
+  }
+
+  public void setResourceTypeCacheRefreshInterval(Duration resourceTypeCacheRefreshInterval) {
+    this.resourceTypeCacheRefreshInterval =
+        requirePositive(resourceTypeCacheRefreshInterval, "Resource type cache refresh interval");
+  }
+
+  public Duration getResourceTypeCacheMaxStaleness() {
+    return resourceTypeCacheMaxStaleness;
+  }
+
+  /**
+   * Sets how long past the refresh interval a cached list may still be returned while it is
+   * being refreshed, for instance when the server is unavailable.
+   */
+  public void setResourceTypeCacheMaxStaleness(Duration resourceTypeCacheMaxStaleness) {
+    this.resourceTypeCacheMaxStaleness =
+        requirePositive(resourceTypeCacheMaxStaleness, "Resource type cache max staleness");
+  }
+
+  public boolean isPoolIndexEnabled() {
+    return poolIndexEnabled;
+  }
+
+  /**
+   * Enables answering pool queries from an in-memory index of all pools visible to the
+   * principal. Pool changes made elsewhere become visible after the refresh interval.
+   */
+  public void setPoolIndexEnabled(boolean poolIndexEnabled) {
+    this.poolIndexEnabled = poolIndexEnabled;
+  }
+
+  public int getPoolIndexMaxSize() {
+    return poolIndexMaxSize;
+  }
+
+  public void setPoolIndexMaxSize(int poolIndexMaxSize) {
+    if (poolIndexMaxSize <= 0) {
+      throw new SdkException("Pool index max size must be positive");
+    }
+
+    this.poolIndexMaxSize = poolIndexMaxSize;
+  }
+
+  public Duration getPoolIndexRefreshInterval() {
+    return poolIndexRefreshInterval;
+  }
+
+  public void setPoolIndexRefreshInterval(Duration poolIndexRefreshInterval) {
+    this.poolIndexRefreshInterval =
+        requirePositive(poolIndexRefreshInterval, "Pool index refresh interval");
+  }
+
+  public Duration getPoolIndexMaxStaleness() {
+    return poolIndexMaxStaleness;
+  }
+
+  public void setPoolIndexMaxStaleness(Duration poolIndexMaxStaleness) {
+    this.poolIndexMaxStaleness = requirePositive(poolIndexMaxStaleness, "Pool index max staleness");
+  }
+
+  public int getTenantApiKeyCacheMaxSize() {
+    return tenantApiKeyCacheMaxSize;
+  }
+
+  public void setTenantApiKeyCacheMaxSize(int tenantApiKeyCacheMaxSize) {
+    if (tenantApiKeyCacheMaxSize <= 0) {
+      throw new SdkException("Tenant API key cache max size must be positive");
+    }
+
+    this.tenantApiKeyCacheMaxSize = tenantApiKeyCacheMaxSize;
+  }
+
+  public Duration getTenantApiKeyRefreshInterval() {
+    return tenantApiKeyRefreshInterval;
+  }
+
+  /**
+   * Sets how long a tenant API key header is reused before it is fetched from the server again.
+   */
+  public void setTenantApiKeyRefreshInterval(Duration tenantApiKeyRefreshInterval) {
+    this.tenantApiKeyRefreshInterval =
+        requirePositive(tenantApiKeyRefreshInterval, "Tenant API key refresh interval");
+  }
+
+  public IRN getAnonymousPrincipalIrn() {
+    return anonymousPrincipalIrn;
+  }
+
+  /**
+   * Sets a static IRN for unauthenticated requests, so the server is never asked for it.
+   */
+  public void setAnonymousPrincipalIrn(String anonymousPrincipalIrn) {
+    this.anonymousPrincipalIrn = StringUtils.isEmpty(anonymousPrincipalIrn)
+        ? null
+        : IRN.from(anonymousPrincipalIrn);
+  }
+
+  public Duration getAnonymousPrincipalRefreshInterval() {
+    return anonymousPrincipalRefreshInterval;
+  }
+
+  /**
+   * Sets how often the anonymous principal IRN is re-fetched in the background; {@code null}
+   * resolves it only once.
+   */
+  public void setAnonymousPrincipalRefreshInterval(Duration anonymousPrincipalRefreshInterval) {
+    this.anonymousPrincipalRefreshInterval = anonymousPrincipalRefreshInterval == null
+        ? null
+        : requirePositive(anonymousPrincipalRefreshInterval, "Anonymous principal refresh interval");
+  }
+
+  public boolean isRequestCoalescingEnabled() {
+    return requestCoalescingEnabled;
+  }
+
+  /**
+   * Lets identical read requests that are in flight at the same time share one server call.
+   */
+  public void setRequestCoalescingEnabled(boolean requestCoalescingEnabled) {
+    this.requestCoalescingEnabled = requestCoalescingEnabled;
+  }
+
+  public Duration getEvaluationBatchWindow() {
+    return evaluationBatchWindow;
+  }
+
+  /**
+   * Enables batching of concurrent resource evaluations that share an authorization header and
+   * action: they are collected for up to this window and sent as one request. {@code null}
+   * disables batching.
+   */
+  public void setEvaluationBatchWindow(Duration evaluationBatchWindow) {
+    this.evaluationBatchWindow = evaluationBatchWindow == null
+        ? null
+        : requirePositive(evaluationBatchWindow, "Evaluation batch window");
+  }
+
+  public int getEvaluationBatchMaxSize() {
+    return evaluationBatchMaxSize;
+  }
+
+  /**
+   * Sets the largest number of distinct resources in one batched request. A full batch is sent
+   * without waiting for the window, and a call with more resources is spread over several
+   * batches.
+   */
+  public void setEvaluationBatchMaxSize(int evaluationBatchMaxSize) {
+    if (evaluationBatchMaxSize <= 0) {
+      throw new SdkException("Evaluation batch max size must be positive");
+    }
+
+    this.evaluationBatchMaxSize = evaluationBatchMaxSize;
+  }
+
+  public int getEvaluationChunkSize() {
+    return evaluationChunkSize;
+  }
+
+  /**
+   * Sets the largest number of resources sent in one evaluation request; larger sets are split
+   * into chunks evaluated in parallel. Unbounded by default, so every call is sent as a single
+   * request unless a chunk size is configured.
+   */
+  public void setEvaluationChunkSize(int evaluationChunkSize) {
+    if (evaluationChunkSize <= 0) {
+      throw new SdkException("Evaluation chunk size must be positive");
+    }
+
+    this.evaluationChunkSize = evaluationChunkSize;
+  }
+
+  public int getEvaluationParallelism() {
+    return evaluationParallelism;
+  }
+
+  /**
+   * Sets how many evaluation chunks of one call may be in flight at the same time.
+   */
+  public void setEvaluationParallelism(int evaluationParallelism) {
+    if (evaluationParallelism <= 0) {
+      throw new SdkException("Evaluation parallelism must be positive");
+    }
+
+    this.evaluationParallelism = evaluationParallelism;
+  }
+
+  public int getBulkParallelism() {
+    return bulkParallelism;
+  }
+
+  /**
+   * Sets how many requests of one bulk operation may be in flight at the same time.
+   */
+  public void setBulkParallelism(int bulkParallelism) {
+    if (bulkParallelism <= 0) {
+      throw new SdkException("Bulk parallelism must be positive");
+    }
+
+    this.bulkParallelism = bulkParallelism;
+  }
+
+  public int getDeleteChunkSize() {
+    return deleteChunkSize;
+  }
+
+  /**
+   * Sets the maximum number of resources sent in one bulk delete request.
+   */
+  public void setDeleteChunkSize(int deleteChunkSize) {
+    if (deleteChunkSize <= 0) {
+      throw new SdkException("Delete chunk size must be positive");
+    }
+
+    this.deleteChunkSize = deleteChunkSize;
+  }
+
+  public long getDeleteChunkMaxBytes() {
+    return deleteChunkMaxBytes;
+  }
+
+  /**
+   * Sets the approximate maximum size of the resource ID list in one bulk delete request body.
+   */
+  public void setDeleteChunkMaxBytes(long deleteChunkMaxBytes) {
+    if (deleteChunkMaxBytes <= 0) {
+      throw new SdkException("Delete chunk max bytes must be positive");
+    }
+
+    this.deleteChunkMaxBytes = deleteChunkMaxBytes;
+  }
+
+  public Path getWriteBehindJournalPath() {
+    return writeBehindJournalPath;
+  }
+
+  /**
+   * Enables write-behind mode: resource creates, updates and deletes made with the application
+   * API key are journaled to this file and applied in the background. Writes made with any other
+   * header are still sent synchronously. The bulk {@code createResources} and
+   * {@code updateResources} calls are not journaled. Only one client at a time may use a journal.
+   */
+  public void setWriteBehindJournalPath(Path writeBehindJournalPath) {
+    this.writeBehindJournalPath = writeBehindJournalPath;
+  }
+
+  public int getWriteBehindBatchSize() {
+    return writeBehindBatchSize;
+  }
+
+  public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+    if (writeBehindBatchSize <= 0) {
+      throw new SdkException("Write-behind batch size must be positive");
+    }
+
+    this.writeBehindBatchSize = writeBehindBatchSize;
+  }
+
+  public Duration getWriteBehindDrainInterval() {
+    return writeBehindDrainInterval;
+  }
+
+  public void setWriteBehindDrainInterval(Duration writeBehindDrainInterval) {
+    this.writeBehindDrainInterval =
+        requirePositive(writeBehindDrainInterval, "Write-behind drain interval");
+  }
+
+  public Duration getWriteBehindRetryBackoff() {
+    return writeBehindRetryBackoff;
+  }
+
+  /**
+   * Sets the initial delay before a failed write-behind batch is retried. The delay doubles with
+   * every consecutive failure, up to one minute.
+   */
+  public void setWriteBehindRetryBackoff(Duration writeBehindRetryBackoff) {
+    this.writeBehindRetryBackoff =
+        requirePositive(writeBehindRetryBackoff, "Write-behind retry backoff");
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Sets the page size used when reading paginated server endpoints.
+   */
+  public void setPageSize(int pageSize) {
+    if (pageSize <= 0) {
+      throw new SdkException("Page size must be positive");
+    }
+
+    this.pageSize = pageSize;
+  }
+
+  public boolean isPagePrefetchEnabled() {
+    return pagePrefetchEnabled;
+  }
+
+  /**
+   * Requests the next page in the background while the current one is being consumed.
+   */
+  public void setPagePrefetchEnabled(boolean pagePrefetchEnabled) {
+    this.pagePrefetchEnabled = pagePrefetchEnabled;
+  }
+
+  public boolean isJacksonBlackbirdEnabled() {
+    return jacksonBlackbirdEnabled;
+  }
+
+  /**
+   * Registers the Jackson Blackbird module, which replaces reflective property access with
+   * generated code. Requires {@code jackson-module-blackbird} on the classpath.
+   */
+  public void setJacksonBlackbirdEnabled(boolean jacksonBlackbirdEnabled) {
+    this.jacksonBlackbirdEnabled = jacksonBlackbirdEnabled;
+  }
+
+  public HttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  /**
+   * Sets the HTTP client used to talk to the iamcore server. When set, the executor, virtual
+   * threads, connect timeout and HTTP version properties are ignored.
+   */
+  public void setHttpClient(HttpClient httpClient) {
+    this.httpClient = httpClient;
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Sets the executor that runs HTTP client and other asynchronous SDK tasks.
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  public MetricsRecorder getMetricsRecorder() {
+    return metricsRecorder;
+  }
+
+  /**
+   * Sets the recorder that receives the timing, status and payload sizes of every request to the
+   * iamcore server, tagged by operation. Requests are not measured when unset.
+   */
+  public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+    this.metricsRecorder = metricsRecorder;
+  }
+
+  public boolean isVirtualThreadsEnabled() {
+    return virtualThreadsEnabled;
+  }
+
+  /**
+   * Runs SDK tasks on virtual threads when no executor is set explicitly.
+   */
+  public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+    this.virtualThreadsEnabled = virtualThreadsEnabled;
+  }
+
+  public Duration getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public void setConnectTimeout(Duration connectTimeout) {
+    this.connectTimeout = connectTimeout == null
+        ? null
+        : requirePositive(connectTimeout, "Connect timeout");
+  }
+
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  /**
+   * Sets how long to wait for the response status and headers of a single request before failing
+   * it. Reading the response body is not bounded by this timeout. {@code null} waits indefinitely,
+   * unless the circuit breaker is enabled, in which case twice the slow call duration is used.
+   */
+  public void setRequestTimeout(Duration requestTimeout) {
+    this.requestTimeout = requestTimeout == null
+        ? null
+        : requirePositive(requestTimeout, "Request timeout");
+  }
+
+  public boolean isCircuitBreakerEnabled() {
+    return circuitBreakerEnabled;
+  }
+
+  /**
+   * Enables a circuit breaker per group of server endpoints. While a breaker is open, requests to
+   * its endpoints fail immediately with {@link io.iamcore.exception.CircuitBreakerOpenException}
+   * instead of waiting on a degraded server.
+   */
+  public void setCircuitBreakerEnabled(boolean circuitBreakerEnabled) {
+    this.circuitBreakerEnabled = circuitBreakerEnabled;
+  }
+
+  public double getCircuitBreakerFailureRateThreshold() {
+    return circuitBreakerFailureRateThreshold;
+  }
+
+  /**
+   * Sets the fraction of failed requests in the window at which a breaker opens. Only server
+   * errors, throttling, timeouts and network errors count as failures.
+   */
+  public void setCircuitBreakerFailureRateThreshold(double circuitBreakerFailureRateThreshold) {
+    this.circuitBreakerFailureRateThreshold =
+        requireRate(circuitBreakerFailureRateThreshold, "Circuit breaker failure rate threshold");
+  }
+
+  public double getCircuitBreakerSlowCallRateThreshold() {
+    return circuitBreakerSlowCallRateThreshold;
+  }
+
+  /**
+   * Sets the fraction of slow requests in the window at which a breaker opens.
+   */
+  public void setCircuitBreakerSlowCallRateThreshold(double circuitBreakerSlowCallRateThreshold) {
+    this.circuitBreakerSlowCallRateThreshold = requireRate(circuitBreakerSlowCallRateThreshold,
+        "Circuit breaker slow call rate threshold");
+  }
+
+  public Duration getCircuitBreakerSlowCallDuration() {
+    return circuitBreakerSlowCallDuration;
+  }
+
+  public void setCircuitBreakerSlowCallDuration(Duration circuitBreakerSlowCallDuration) {
+    this.circuitBreakerSlowCallDuration =
+        requirePositive(circuitBreakerSlowCallDuration, "Circuit breaker slow call duration");
+  }
+
+  public Duration getCircuitBreakerWindow() {
+    return circuitBreakerWindow;
+  }
+
+  /**
+   * Sets the rolling period over which request outcomes are counted.
+   */
+  public void setCircuitBreakerWindow(Duration circuitBreakerWindow) {
+    this.circuitBreakerWindow = requirePositive(circuitBreakerWindow, "Circuit breaker window");
+  }
+
+  public int getCircuitBreakerMinimumCalls() {
+    return circuitBreakerMinimumCalls;
+  }
+
+  /**
+   * Sets how many requests the window must hold before the rates are evaluated.
+   */
+  public void setCircuitBreakerMinimumCalls(int circuitBreakerMinimumCalls) {
+    if (circuitBreakerMinimumCalls <= 0) {
+      throw new SdkException("Circuit breaker minimum calls must be positive");
+    }
+
+    this.circuitBreakerMinimumCalls = circuitBreakerMinimumCalls;
+  }
+
+  public Duration getCircuitBreakerOpenDuration() {
+    return circuitBreakerOpenDuration;
+  }
+
+  /**
+   * Sets how long an open breaker rejects requests before probing the server again.
+   */
+  public void setCircuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+    this.circuitBreakerOpenDuration =
+        requirePositive(circuitBreakerOpenDuration, "Circuit breaker open duration");
+  }
+
+  public int getCircuitBreakerHalfOpenProbes() {
+    return circuitBreakerHalfOpenProbes;
+  }
+
+  /**
+   * Sets how many probe requests a half-open breaker lets through. The breaker closes when all
+   * of them succeed in time and opens again on the first one that does not.
+   */
+  public void setCircuitBreakerHalfOpenProbes(int circuitBreakerHalfOpenProbes) {
+    if (circuitBreakerHalfOpenProbes <= 0) {
+      throw new SdkException("Circuit breaker half-open probes must be positive");
+    }
+
+    this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
+  }
+
+  public HttpClient.Version getHttpVersion() {
+    return httpVersion;
+  }
+
+  public void setHttpVersion(HttpClient.Version httpVersion) {
+    this.httpVersion = httpVersion;
+  }
+
+  private static double requireRate(double rate, String name) {
+    if (!(rate > 0 && rate <= 1)) {
+      throw new SdkException(name + " must be greater than 0 and at most 1");
+    }
+
+    return rate;
+  }
+
+  private static Duration requirePositive(Duration duration, String name) {
+    if (duration == null || duration.isNegative() || duration.isZero()) {
+      throw new SdkException(name + " must be positive");
+    }
+
+    return duration;
+  }
 }
@@ -0,0 +1,163 @@
+package io.iamcore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Helpers for splitting work into chunks and running asynchronous tasks with bounded
+ * concurrency.
+ */
+public class ParallelExecution {
+
+  public static <T> List<List<T>> partition(List<T> items, int chunkSize) {
+    List<List<T>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+    for (int from = 0; from < items.size(); from += chunkSize) {
+      chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+    }
+
+    return chunks;
+  }
+
+  /**
+   * Splits items into chunks holding at most {@code maxCount} items whose weights add up to at
+   * most {@code maxWeight}. An item heavier than {@code maxWeight} gets a chunk of its own.
+   */
+  public static <T> List<List<T>> partition(List<T> items, int maxCount, long maxWeight,
+      ToLongFunction<T> weight) {
+    List<List<T>> chunks = new ArrayList<>();
+    int from = 0;
+    long chunkWeight = 0;
+
+    for (int i = 0; i < items.size(); i++) {
+      long itemWeight = weight.applyAsLong(items.get(i));
+      boolean full = i - from >= maxCount || chunkWeight + itemWeight > maxWeight;
+
+      if (i > from && full) {
+        chunks.add(items.subList(from, i));
+        from = i;
+        chunkWeight = 0;
+      }
+
+      chunkWeight += itemWeight;
+    }
+
+    if (from < items.size()) {
+      chunks.add(items.subList(from, items.size()));
+    }
+
+    return chunks;
+  }
+
+  /**
+   * Applies the task to every input with at most {@code parallelism} tasks in flight. The result
+   * keeps input order and fails as soon as any task fails, without starting the remaining ones.
+   */
+  public static <T, R> CompletableFuture<List<R>> mapAsync(List<T> inputs, int parallelism,
+      Function<T, CompletableFuture<R>> task) {
+    return new BoundedRun<>(inputs, parallelism, task).start();
+  }
+
+  /**
+   * Like {@link #mapAsync}, but runs every task regardless of failures and reports the outcome of
+   * each input in input order. The returned future never completes exceptionally.
+   */
+  public static <T, R> CompletableFuture<List<BulkResult<R>>> mapEachAsync(List<T> inputs,
+      int parallelism, Function<T, CompletableFuture<R>> task) {
+    return mapAsync(inputs, parallelism, input -> {
+      CompletableFuture<R> future;
+      try {
+        future = task.apply(input);
+      } catch (RuntimeException ex) {
+        future = CompletableFuture.failedFuture(ex);
+      }
+
+      return future.handle((value, ex) -> ex == null
+          ? BulkResult.success(value)
+          : BulkResult.<R>failure(ex));
+    });
+  }
+
+  private static class BoundedRun<T, R> {
+
+    private final List<T> inputs;
+    private final int parallelism;
+    private final Function<T, CompletableFuture<R>> task;
+    private final AtomicReferenceArray<R> results;
+    private final CompletableFuture<List<R>> result = new CompletableFuture<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private int nextIndex;
+
+    BoundedRun(List<T> inputs, int parallelism, Function<T, CompletableFuture<R>> task) {
+      this.inputs = inputs;
+      this.parallelism = Math.max(1, parallelism);
+      this.task = task;
+      this.results = new AtomicReferenceArray<>(inputs.size());
+    }
+
+    CompletableFuture<List<R>> start() {
+      if (inputs.isEmpty()) {
+        result.complete(List.of());
+      } else {
+        drain();
+      }
+
+      return result;
+    }
+
+    /**
+     * Starts tasks while capacity allows. Re-entrant calls from tasks that complete synchronously
+     * are folded into the running loop instead of growing the stack.
+     */
+    private void drain() {
+      if (pendingDrains.getAndIncrement() > 0) {
+        return;
+      }
+
+      do {
+        while (!result.isDone() && nextIndex < inputs.size() && running.get() < parallelism) {
+          launch(nextIndex++);
+        }
+      } while (pendingDrains.decrementAndGet() > 0);
+    }
+
+    private void launch(int index) {
+      running.incrementAndGet();
+
+      CompletableFuture<R> future;
+      try {
+        future = task.apply(inputs.get(index));
+      } catch (RuntimeException ex) {
+        future = CompletableFuture.failedFuture(ex);
+      }
+
+      future.whenComplete((value, ex) -> {
+        running.decrementAndGet();
+
+        if (ex != null) {
+          result.completeExceptionally(
+              ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+          return;
+        }
+
+        results.set(index, value);
+        if (completed.incrementAndGet() == inputs.size()) {
+          List<R> values = new ArrayList<>(inputs.size());
+          for (int i = 0; i < inputs.size(); i++) {
+            values.add(results.get(i));
+          }
+          result.complete(values);
+        } else {
+          drain();
+        }
+      });
+    }
+  }
+}
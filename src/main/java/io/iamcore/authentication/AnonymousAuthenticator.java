@@ -3,17 +3,114 @@ package io.iamcore.authentication;
 import io.iamcore.IRN;
 import io.iamcore.authentication.context.SecurityContext;
 import io.iamcore.server.ServerClient;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class AnonymousAuthenticator {
+/**
+ * Provides the security context of unauthenticated requests. The anonymous principal is resolved
+ * on first use and then served from memory, optionally refreshed in the background. A failed
+ * refresh keeps the last known principal and is reported through {@link #getLastRefreshFailure}.
+ */
+public class AnonymousAuthenticator implements AutoCloseable {
 
   private final ServerClient serverClient;
+  private final Duration refreshInterval;
+  private final AtomicLong refreshFailureCount = new AtomicLong();
+  private volatile SecurityContext securityContext;
+  private volatile RuntimeException lastRefreshFailure;
+  private ScheduledExecutorService refreshExecutor;
+  private boolean closed;
 
   public AnonymousAuthenticator(ServerClient serverClient) {
+    this(serverClient, null, null);
+  }
+
+  /**
+   * Creates an authenticator that never calls the server when a static anonymous principal IRN is
+   * given; otherwise the IRN is fetched once and re-fetched every {@code refreshInterval}, if set.
+   */
+  public AnonymousAuthenticator(ServerClient serverClient, IRN staticPrincipalIrn,
+      Duration refreshInterval) {
     this.serverClient = serverClient;
+    this.refreshInterval = staticPrincipalIrn == null ? refreshInterval : null;
+
+    if (staticPrincipalIrn != null) {
+      this.securityContext = new SecurityContext(null, staticPrincipalIrn);
+    }
   }
-  
+
   public SecurityContext authenticate() {
+    SecurityContext context = securityContext;
+    if (context != null) {
+      return context;
+    }
+
+    synchronized (this) {
+      if (securityContext == null) {
+        securityContext = resolve();
+        scheduleRefresh();
+      }
+
+      return securityContext;
+    }
+  }
+
+  public long getRefreshFailureCount() {
+    return refreshFailureCount.get();
+  }
+
+  /**
+   * Returns the error of the most recent background refresh if it failed.
+   */
+  public Optional<RuntimeException> getLastRefreshFailure() {
+    return Optional.ofNullable(lastRefreshFailure);
+  }
+
+  /**
+   * Stops the background refresh. The last resolved principal is still served.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+    }
+  }
+
+  private SecurityContext resolve() {
     IRN principalIrn = serverClient.getPrincipalIrn(null);
     return new SecurityContext(null, principalIrn);
   }
+
+  private void scheduleRefresh() {
+    if (refreshInterval == null || refreshExecutor != null || closed) {
+      return;
+    }
+
+    refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "iamcore-anonymous-principal-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    long intervalMillis = refreshInterval.toMillis();
+    refreshExecutor.scheduleWithFixedDelay(this::refresh, intervalMillis, intervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void refresh() {
+    try {
+      securityContext = resolve();
+      lastRefreshFailure = null;
+    } catch (RuntimeException ex) {
+      // Keep serving the last known principal until the server is reachable again
+      refreshFailureCount.incrementAndGet();
+      lastRefreshFailure = ex;
+    }
+  }
 }
@@ -11,10 +11,17 @@ import java.util.Optional;
 public class HttpHeaderAuthenticator implements Authenticator {
 
   private final ServerClient serverClient;
+  private final PrincipalIrnCache principalIrnCache;
   private final String authorizationHeaderName;
 
   public HttpHeaderAuthenticator(ServerClient serverClient, String authorizationHeaderName) {
+    this(serverClient, null, authorizationHeaderName);
+  }
+
+  public HttpHeaderAuthenticator(ServerClient serverClient, PrincipalIrnCache principalIrnCache,
+      String authorizationHeaderName) {
     this.serverClient = serverClient;
+    this.principalIrnCache = principalIrnCache;
     this.authorizationHeaderName = authorizationHeaderName;
   }
   
@@ -27,7 +34,9 @@ public class HttpHeaderAuthenticator implements Authenticator {
 
     HttpHeader httpHeader = new HttpHeader(authorizationHeaderName, authorizationHeader);
 
-    IRN principalIrn = serverClient.getPrincipalIrn(httpHeader);
+    IRN principalIrn = principalIrnCache == null
+        ? serverClient.getPrincipalIrn(httpHeader)
+        : principalIrnCache.getPrincipalIrn(httpHeader);
     return Optional.of(new SecurityContext(httpHeader, principalIrn));
   }
 }
@@ -0,0 +1,46 @@
+package io.iamcore.authentication;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Reads unverified claims from a JWT bearer token. Only used to bound cache lifetimes, never to
+ * make authentication decisions.
+ */
+class JwtClaims {
+
+  private static final String BEARER_PREFIX = "bearer ";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  static Optional<Instant> expiresAt(String headerValue) {
+    if (headerValue == null) {
+      return Optional.empty();
+    }
+
+    String token = headerValue.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+        ? headerValue.substring(BEARER_PREFIX.length()).trim()
+        : headerValue.trim();
+
+    String[] parts = token.split("\\.");
+    if (parts.length != 3) {
+      return Optional.empty();
+    }
+
+    try {
+      byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+      JsonNode exp = OBJECT_MAPPER.readTree(payload).get("exp");
+
+      if (exp == null || !exp.canConvertToLong()) {
+        return Optional.empty();
+      }
+
+      return Optional.of(Instant.ofEpochSecond(exp.asLong()));
+    } catch (IllegalArgumentException | IOException ex) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package io.iamcore.authentication;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.cache.ExpiringCache;
+import io.iamcore.cache.HeaderDigest;
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.ServerClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Resolves principal IRNs by authorization header, remembering the answer for a bounded time.
+ * Entries for JWT bearer tokens never outlive the token's {@code exp} claim.
+ */
+public class PrincipalIrnCache {
+
+  private final ServerClient serverClient;
+  private final ExpiringCache<String, IRN> cache;
+
+  public PrincipalIrnCache(ServerClient serverClient, int maxSize, Duration ttl) {
+    this.serverClient = serverClient;
+    this.cache = new ExpiringCache<>(maxSize, ttl);
+  }
+
+  public IRN getPrincipalIrn(HttpHeader header) {
+    if (header == null) {
+      throw new SdkException("Authorization header must be defined");
+    }
+
+    String key = HeaderDigest.of(header);
+
+    Optional<IRN> cachedIrn = cache.get(key);
+    if (cachedIrn.isPresent()) {
+      return cachedIrn.get();
+    }
+
+    IRN principalIrn = serverClient.getPrincipalIrn(header);
+    cache.put(key, principalIrn, entryTtl(header));
+
+    return principalIrn;
+  }
+
+  public void invalidate(HttpHeader header) {
+    cache.invalidate(HeaderDigest.of(header));
+  }
+
+  private Duration entryTtl(HttpHeader header) {
+    return JwtClaims.expiresAt(header.getValue())
+        .map(expiresAt -> Duration.between(Instant.now(), expiresAt))
+        .orElse(cache.getTtl());
+  }
+}
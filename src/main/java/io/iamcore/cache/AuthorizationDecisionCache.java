@@ -0,0 +1,101 @@
+package io.iamcore.cache;
+
+import io.iamcore.Authorizer;
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers authorization decisions per principal, action and resource IRN. Only resources
+ * without a cached decision are passed on to the server, and its answer is merged with the hits.
+ */
+public class AuthorizationDecisionCache {
+
+  private final ExpiringCache<DecisionKey, Boolean> decisions;
+
+  public AuthorizationDecisionCache(int maxSize, Duration ttl) {
+    this.decisions = new ExpiringCache<>(maxSize, ttl);
+  }
+
+  /**
+   * Returns the authorized subset of the given resources.
+   *
+   * @param allOrNothing whether the authorizer rejects the whole request when any resource is
+   *     denied; cached denials are then re-evaluated so that the authorizer can reject them.
+   */
+  public List<IRN> authorize(HttpHeader header, String action, List<IRN> resourceIrns,
+      boolean allOrNothing, Authorizer authorizer) {
+    Lookup lookup = lookup(header, action, resourceIrns, allOrNothing);
+    if (lookup.misses().isEmpty()) {
+      return lookup.authorized();
+    }
+
+    return merge(lookup, authorizer.authorize(lookup.misses()));
+  }
+
+  public CompletableFuture<List<IRN>> authorizeAsync(HttpHeader header, String action,
+      List<IRN> resourceIrns, boolean allOrNothing,
+      Function<List<IRN>, CompletableFuture<List<IRN>>> authorizer) {
+    Lookup lookup = lookup(header, action, resourceIrns, allOrNothing);
+    if (lookup.misses().isEmpty()) {
+      return CompletableFuture.completedFuture(lookup.authorized());
+    }
+
+    return authorizer.apply(lookup.misses())
+        .thenApply(authorizedMisses -> merge(lookup, authorizedMisses));
+  }
+
+  public void invalidateAll() {
+    decisions.invalidateAll();
+  }
+
+  private Lookup lookup(HttpHeader header, String action, List<IRN> resourceIrns,
+      boolean allOrNothing) {
+    String principal = HeaderDigest.of(header);
+    List<IRN> authorized = new ArrayList<>();
+    List<IRN> misses = new ArrayList<>();
+
+    for (IRN resourceIrn : resourceIrns) {
+      Optional<Boolean> decision =
+          decisions.get(new DecisionKey(principal, action, resourceIrn.toString()));
+
+      if (decision.isEmpty() || (allOrNothing && !decision.get())) {
+        misses.add(resourceIrn);
+      } else if (decision.get()) {
+        authorized.add(resourceIrn);
+      }
+    }
+
+    return new Lookup(principal, action, authorized, misses);
+  }
+
+  private List<IRN> merge(Lookup lookup, List<IRN> authorizedMisses) {
+    Set<String> allowed = authorizedMisses.stream()
+        .map(IRN::toString)
+        .collect(Collectors.toSet());
+
+    List<IRN> authorized = new ArrayList<>(lookup.authorized());
+    for (IRN miss : lookup.misses()) {
+      boolean isAllowed = allowed.contains(miss.toString());
+      decisions.put(new DecisionKey(lookup.principal(), lookup.action(), miss.toString()),
+          isAllowed);
+
+      if (isAllowed) {
+        authorized.add(miss);
+      }
+    }
+
+    return authorized;
+  }
+
+  private record DecisionKey(String principal, String action, String resourceIrn) {}
+
+  private record Lookup(String principal, String action, List<IRN> authorized, List<IRN> misses) {}
+}
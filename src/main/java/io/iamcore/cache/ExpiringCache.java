@@ -0,0 +1,89 @@
+package io.iamcore.cache;
+
+import io.iamcore.exception.SdkException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory cache with per-entry expiration and least-recently-used eviction.
+ */
+public class ExpiringCache<K, V> {
+
+  private final int maxSize;
+  private final Duration ttl;
+  private final LinkedHashMap<K, Entry<V>> entries;
+
+  public ExpiringCache(int maxSize, Duration ttl) {
+    if (maxSize <= 0) {
+      throw new SdkException("Cache max size must be positive");
+    }
+
+    if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+      throw new SdkException("Cache TTL must be positive");
+    }
+
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        return size() > ExpiringCache.this.maxSize;
+      }
+    };
+  }
+
+  public synchronized Optional<V> get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+
+    if (entry.isExpired(System.nanoTime())) {
+      entries.remove(key);
+      return Optional.empty();
+    }
+
+    return Optional.of(entry.value());
+  }
+
+  public void put(K key, V value) {
+    put(key, value, ttl);
+  }
+
+  /**
+   * Stores the value with the given TTL; the TTL is capped by the cache-wide TTL.
+   */
+  public synchronized void put(K key, V value, Duration entryTtl) {
+    if (value == null || entryTtl.isNegative() || entryTtl.isZero()) {
+      return;
+    }
+
+    long ttlNanos = Math.min(entryTtl.toNanos(), ttl.toNanos());
+    entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+  }
+
+  public synchronized void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  private record Entry<V>(V value, long expiresAtNanos) {
+
+    boolean isExpired(long nowNanos) {
+      return nowNanos - expiresAtNanos >= 0;
+    }
+  }
+}
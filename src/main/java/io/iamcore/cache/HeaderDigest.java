@@ -0,0 +1,33 @@
+package io.iamcore.cache;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.exception.SdkException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Derives cache keys from HTTP headers so that raw credentials are never kept in memory maps.
+ */
+public class HeaderDigest {
+
+  private static final String ALGORITHM = "SHA-256";
+
+  public static String of(HttpHeader header) {
+    if (header == null) {
+      return "";
+    }
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+      digest.update(header.getName().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) ':');
+      digest.update(header.getValue().getBytes(StandardCharsets.UTF_8));
+
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException ex) {
+      throw new SdkException("Header digest algorithm is not available: " + ALGORITHM);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package io.iamcore.cache;
+
+import io.iamcore.IRN;
+import io.iamcore.StringUtils;
+import io.iamcore.server.dto.PoolResponse;
+import io.iamcore.server.dto.PoolsQueryFilter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory index of pools by ID, name, IRN and member resource. Resources are keyed by
+ * their Base64 IRN, the form in which {@link PoolResponse#resources()} lists them.
+ */
+public class PoolIndex {
+
+  private final List<PoolResponse> pools;
+  private final Map<String, PoolResponse> poolsById = new HashMap<>();
+  private final Map<String, Set<PoolResponse>> poolsByName = new HashMap<>();
+  private final Map<String, Set<PoolResponse>> poolsByIrn = new HashMap<>();
+  private final Map<String, Set<PoolResponse>> poolsByResource = new HashMap<>();
+
+  public PoolIndex(List<PoolResponse> pools) {
+    this.pools = List.copyOf(pools);
+
+    for (PoolResponse pool : this.pools) {
+      poolsById.put(pool.id(), pool);
+      addTo(poolsByName, pool.name(), pool);
+      addTo(poolsByIrn, pool.irn() == null ? null : pool.irn().toString(), pool);
+
+      if (pool.resources() != null) {
+        pool.resources().forEach(resource -> addTo(poolsByResource, resource, pool));
+      }
+    }
+  }
+
+  private static void addTo(Map<String, Set<PoolResponse>> index, String key, PoolResponse pool) {
+    if (key != null) {
+      index.computeIfAbsent(key, ignored -> new LinkedHashSet<>()).add(pool);
+    }
+  }
+
+  /**
+   * Returns the pools matching every criterion set in the filter; names are matched exactly.
+   */
+  public List<PoolResponse> find(PoolsQueryFilter filter) {
+    Set<PoolResponse> matches = null;
+
+    if (filter.irn() != null) {
+      matches = intersect(matches, poolsByIrn.get(filter.irn().toString()));
+    }
+
+    if (!StringUtils.isEmpty(filter.name())) {
+      matches = intersect(matches, poolsByName.get(filter.name()));
+    }
+
+    if (filter.resourceIrn() != null) {
+      matches = intersect(matches, poolsByResource.get(filter.resourceIrn().toBase64()));
+    }
+
+    return matches == null ? pools : List.copyOf(matches);
+  }
+
+  private static Set<PoolResponse> intersect(Set<PoolResponse> matches,
+      Set<PoolResponse> candidates) {
+    if (candidates == null) {
+      return Collections.emptySet();
+    }
+
+    if (matches == null) {
+      return candidates;
+    }
+
+    Set<PoolResponse> intersection = new LinkedHashSet<>(matches);
+    intersection.retainAll(candidates);
+
+    return intersection;
+  }
+
+  public boolean isMember(String poolId, IRN resourceIrn) {
+    PoolResponse pool = poolsById.get(poolId);
+
+    return pool != null
+        && poolsByResource.getOrDefault(resourceIrn.toBase64(), Set.of()).contains(pool);
+  }
+
+  public List<PoolResponse> getPools() {
+    return pools;
+  }
+}
@@ -0,0 +1,40 @@
+package io.iamcore.cache;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.server.AsyncServerClient;
+import io.iamcore.server.dto.PoolsQueryFilter;
+import java.time.Duration;
+
+/**
+ * Keeps a {@link PoolIndex} per principal, rebuilt in the background once the refresh interval
+ * has passed. Pools are listed per principal because their visibility depends on it.
+ */
+public class PoolIndexCache {
+
+  private static final PoolsQueryFilter ALL_POOLS = new PoolsQueryFilter(null, null, null);
+
+  private final AsyncServerClient serverClient;
+  private final StaleWhileRevalidateCache<String, PoolIndex> indexes;
+
+  public PoolIndexCache(AsyncServerClient serverClient, int maxSize, Duration refreshInterval,
+      Duration maxStaleness) {
+    this.serverClient = serverClient;
+    this.indexes = new StaleWhileRevalidateCache<>(maxSize, refreshInterval, maxStaleness);
+  }
+
+  public PoolIndex getPoolIndex(HttpHeader header) {
+    return indexes.get(HeaderDigest.of(header), () -> serverClient.getPoolsAsync(header, ALL_POOLS)
+        .thenApply(PoolIndex::new));
+  }
+
+  /**
+   * Drops the index of the principal so that the next lookup fetches the pools again.
+   */
+  public void refresh(HttpHeader header) {
+    indexes.invalidate(HeaderDigest.of(header));
+  }
+
+  public void invalidateAll() {
+    indexes.invalidateAll();
+  }
+}
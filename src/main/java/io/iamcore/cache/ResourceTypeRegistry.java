@@ -0,0 +1,47 @@
+package io.iamcore.cache;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.server.AsyncServerClient;
+import io.iamcore.server.dto.ResourceTypeDto;
+import io.iamcore.server.dto.ResourceTypesSnapshot;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory registry of application resource types. Entries are refreshed in the background once
+ * the refresh interval has passed, revalidating each page with the {@code ETag} or
+ * {@code Last-Modified} the server sent, so an unchanged list costs only 304 responses. Entries
+ * are kept per principal and application, so callers only see lists they were allowed to read.
+ */
+public class ResourceTypeRegistry {
+
+  private final AsyncServerClient serverClient;
+  private final StaleWhileRevalidateCache<RegistryKey, ResourceTypesSnapshot> snapshots;
+
+  public ResourceTypeRegistry(AsyncServerClient serverClient, int maxSize,
+      Duration refreshInterval, Duration maxStaleness) {
+    this.serverClient = serverClient;
+    this.snapshots = new StaleWhileRevalidateCache<>(maxSize, refreshInterval, maxStaleness);
+  }
+
+  public List<ResourceTypeDto> getResourceTypes(HttpHeader header, IRN applicationIrn) {
+    RegistryKey key = new RegistryKey(HeaderDigest.of(header), applicationIrn.toString());
+
+    return snapshots.get(key, () -> refresh(key, header, applicationIrn)).resourceTypes();
+  }
+
+  public void invalidateAll() {
+    snapshots.invalidateAll();
+  }
+
+  private CompletableFuture<ResourceTypesSnapshot> refresh(RegistryKey key, HttpHeader header,
+      IRN applicationIrn) {
+    ResourceTypesSnapshot previous = snapshots.getIfPresent(key).orElse(null);
+
+    return serverClient.getResourceTypesSnapshotAsync(header, applicationIrn, previous);
+  }
+
+  private record RegistryKey(String principal, String applicationIrn) {}
+}
@@ -0,0 +1,82 @@
+package io.iamcore.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share a single in-flight computation. Results
+ * are not retained once the computation completes, however it completes, so a failed computation
+ * is retried by the next caller.
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  public V execute(K key, Supplier<V> supplier) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+
+    if (existing != null) {
+      return join(existing);
+    }
+
+    try {
+      V value = supplier.get();
+      inFlight.remove(key, future);
+      future.complete(value);
+
+      return value;
+    } catch (Throwable ex) {
+      inFlight.remove(key, future);
+      future.completeExceptionally(ex);
+
+      throw ex;
+    }
+  }
+
+  public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> supplier) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+
+    if (existing != null) {
+      return existing.copy();
+    }
+
+    CompletableFuture<V> computation;
+    try {
+      computation = supplier.get();
+    } catch (Throwable ex) {
+      computation = CompletableFuture.failedFuture(ex);
+    }
+
+    computation.whenComplete((value, ex) -> {
+      inFlight.remove(key, future);
+
+      if (ex != null) {
+        future.completeExceptionally(ex);
+      } else {
+        future.complete(value);
+      }
+    });
+
+    return future.copy();
+  }
+
+  private static <V> V join(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      if (ex.getCause() instanceof Error cause) {
+        throw cause;
+      }
+
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package io.iamcore.cache;
+
+import io.iamcore.exception.SdkException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache whose entries are fresh for the TTL and may then be served stale for a further
+ * grace period while a single background load refreshes them. Entries older than both are
+ * loaded again before being returned.
+ */
+public class StaleWhileRevalidateCache<K, V> {
+
+  private final ExpiringCache<K, Entry<V>> entries;
+  private final SingleFlight<LoadKey<K>, V> loads = new SingleFlight<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final long ttlNanos;
+
+  public StaleWhileRevalidateCache(int maxSize, Duration ttl, Duration staleWhileRevalidate) {
+    if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+      throw new SdkException("Cache TTL must be positive");
+    }
+
+    if (staleWhileRevalidate == null || staleWhileRevalidate.isNegative()) {
+      throw new SdkException("Cache stale-while-revalidate period must not be negative");
+    }
+
+    this.entries = new ExpiringCache<>(maxSize, ttl.plus(staleWhileRevalidate));
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  public V get(K key, Supplier<CompletableFuture<V>> loader) {
+    try {
+      return getAsync(key, loader).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw ex;
+    }
+  }
+
+  /**
+   * Returns the cached value, starting a background refresh when it is stale. Only a missing or
+   * expired value makes the caller wait for the loader.
+   */
+  public CompletableFuture<V> getAsync(K key, Supplier<CompletableFuture<V>> loader) {
+    Optional<Entry<V>> entry = entries.get(key);
+    if (entry.isEmpty()) {
+      return load(key, loader);
+    }
+
+    if (entry.get().isStale(System.nanoTime())) {
+      load(key, loader);
+    }
+
+    return CompletableFuture.completedFuture(entry.get().value());
+  }
+
+  /**
+   * Returns the cached value, fresh or stale, without loading it.
+   */
+  public Optional<V> getIfPresent(K key) {
+    return entries.get(key).map(Entry::value);
+  }
+
+  /**
+   * Drops the entry. Loads already in flight still complete for their callers but are no longer
+   * stored or shared, so later reads never see a value loaded before the invalidation.
+   */
+  public synchronized void invalidate(K key) {
+    generation.incrementAndGet();
+    entries.invalidate(key);
+  }
+
+  public synchronized void invalidateAll() {
+    generation.incrementAndGet();
+    entries.invalidateAll();
+  }
+
+  private CompletableFuture<V> load(K key, Supplier<CompletableFuture<V>> loader) {
+    LoadKey<K> loadKey = new LoadKey<>(key, generation.get());
+
+    return loads.executeAsync(loadKey, () -> loader.get()
+        .thenApply(value -> {
+          store(loadKey, value);
+          return value;
+        }));
+  }
+
+  private synchronized void store(LoadKey<K> loadKey, V value) {
+    if (loadKey.generation() == generation.get()) {
+      entries.put(loadKey.key(), new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+  }
+
+  private record LoadKey<K>(K key, long generation) {}
+
+  private record Entry<V>(V value, long staleAtNanos) {
+
+    boolean isStale(long nowNanos) {
+      return nowNanos - staleAtNanos >= 0;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package io.iamcore.exception;
+
+import java.util.Map;
+
+/**
+ * Thrown when some items of a bulk operation failed while others succeeded.
+ */
+public class BulkOperationException extends SdkException {
+
+  private final int succeededCount;
+  private final Map<String, RuntimeException> failures;
+
+  public BulkOperationException(String message, int succeededCount,
+      Map<String, RuntimeException> failures) {
+    super(message);
+    this.succeededCount = succeededCount;
+    this.failures = Map.copyOf(failures);
+  }
+
+  public int getSucceededCount() {
+    return succeededCount;
+  }
+
+  /**
+   * Returns the cause of each failed item by item ID.
+   */
+  public Map<String, RuntimeException> getFailures() {
+    return failures;
+  }
+}
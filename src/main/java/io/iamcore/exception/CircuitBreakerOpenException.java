@@ -0,0 +1,19 @@
+package io.iamcore.exception;
+
+/**
+ * Thrown without contacting the server while the circuit breaker of an endpoint group is open
+ * because recent requests to it failed or were slow.
+ */
+public class CircuitBreakerOpenException extends SdkException {
+
+  private final String endpointGroup;
+
+  public CircuitBreakerOpenException(String message, String endpointGroup) {
+    super(message);
+    this.endpointGroup = endpointGroup;
+  }
+
+  public String getEndpointGroup() {
+    return endpointGroup;
+  }
+}
@@ -0,0 +1,12 @@
+package io.iamcore.filter;
+
+import io.iamcore.server.dto.Database;
+
+/**
+ * Authorization filter returned by iamcore, parsed into the form expected by the target
+ * {@link Database}.
+ */
+public sealed interface DbQueryFilter permits SqlQueryFilter, JpaQueryFilter, MongoQueryFilter {
+
+  Database getDatabase();
+}
@@ -0,0 +1,253 @@
+package io.iamcore.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.iamcore.cache.ExpiringCache;
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.dto.Database;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Turns raw iamcore database query filters into {@link DbQueryFilter} objects. SQL and JPQL
+ * literals are extracted into bind parameters; Mongo filters are parsed into documents. Parsed
+ * filters are immutable and cached by their raw text, so repeated filters are parsed once.
+ *
+ * <p>Only plain comparisons of string and numeric literals are parameterized. A filter using
+ * anything else, such as comments, casts, typed or escaped literals, arrays or existing
+ * parameters, is passed through verbatim without parameters.
+ */
+public class DbQueryFilterParser {
+
+  private static final Set<String> LITERAL_KEYWORDS = Set.of("AND", "OR", "NOT", "IN", "IS",
+      "LIKE", "ILIKE", "BETWEEN", "WHEN", "THEN", "ELSE");
+  private static final String UNSUPPORTED_CHARACTERS = "[]{}:$?`\\&;";
+
+  private final ExpiringCache<FilterKey, DbQueryFilter> parsedFilters;
+  private final ObjectReader mongoFilterReader;
+
+  public DbQueryFilterParser(int cacheMaxSize, Duration cacheTtl) {
+    this.parsedFilters = new ExpiringCache<>(cacheMaxSize, cacheTtl);
+    this.mongoFilterReader = JsonMapper.builder()
+        .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+        .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+        .build()
+        .readerForMapOf(Object.class);
+  }
+
+  public DbQueryFilter parse(Database database, String filter) {
+    if (database == null) {
+      throw new SdkException("Database must be defined");
+    }
+
+    String rawFilter = filter == null ? "" : filter;
+    FilterKey key = new FilterKey(database, rawFilter);
+
+    return parsedFilters.get(key).orElseGet(() -> {
+      DbQueryFilter parsedFilter = switch (database) {
+        case POSTGRES -> parseSql(rawFilter);
+        case JPA -> parseJpql(rawFilter);
+        case MONGO -> parseMongo(rawFilter);
+      };
+      parsedFilters.put(key, parsedFilter);
+
+      return parsedFilter;
+    });
+  }
+
+  private static SqlQueryFilter parseSql(String filter) {
+    Template template = parameterize(filter, index -> "?");
+
+    return new SqlQueryFilter(template.text(), template.literals());
+  }
+
+  private static JpaQueryFilter parseJpql(String filter) {
+    Template template = parameterize(filter, index -> ":p" + (index + 1));
+
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    for (int i = 0; i < template.literals().size(); i++) {
+      parameters.put("p" + (i + 1), template.literals().get(i));
+    }
+
+    return new JpaQueryFilter(template.text(), parameters);
+  }
+
+  @SuppressWarnings("unchecked")
+  private MongoQueryFilter parseMongo(String filter) {
+    if (filter.isBlank()) {
+      return new MongoQueryFilter(Map.of());
+    }
+
+    try {
+      Map<String, Object> document = mongoFilterReader.readValue(filter);
+
+      return new MongoQueryFilter((Map<String, Object>) freeze(document));
+    } catch (JsonProcessingException ex) {
+      throw new SdkException("Failed to parse Mongo query filter: " + ex.getOriginalMessage());
+    }
+  }
+
+  private static Object freeze(Object value) {
+    if (value instanceof Map<?, ?> map) {
+      Map<Object, Object> frozen = new LinkedHashMap<>();
+      map.forEach((key, nested) -> frozen.put(key, freeze(nested)));
+
+      return Collections.unmodifiableMap(frozen);
+    }
+
+    if (value instanceof List<?> list) {
+      List<Object> frozen = new ArrayList<>(list.size());
+      list.forEach(nested -> frozen.add(freeze(nested)));
+
+      return Collections.unmodifiableList(frozen);
+    }
+
+    return value;
+  }
+
+  /**
+   * Replaces string and numeric literals with placeholders. Quoted identifiers and numbers that
+   * are part of an identifier are kept as they are. A literal is only replaced when it follows an
+   * operator, a separator or a {@link #LITERAL_KEYWORDS keyword}; any construct outside that
+   * grammar leaves the whole filter unparameterized.
+   */
+  private static Template parameterize(String filter, IntFunction<String> placeholder) {
+    Template verbatim = new Template(filter, List.of());
+    StringBuilder text = new StringBuilder(filter.length());
+    List<Object> literals = new ArrayList<>();
+    int length = filter.length();
+    int i = 0;
+
+    while (i < length) {
+      char c = filter.charAt(i);
+
+      if (UNSUPPORTED_CHARACTERS.indexOf(c) >= 0 || startsComment(filter, i)) {
+        return verbatim;
+      }
+
+      if (c == '\'') {
+        if (!acceptsLiteral(filter, i)) {
+          return verbatim;
+        }
+
+        StringBuilder literal = new StringBuilder();
+        i++;
+
+        while (true) {
+          if (i >= length) {
+            throw new SdkException("Failed to parse query filter: unterminated string literal");
+          }
+
+          char next = filter.charAt(i);
+          if (next == '\'' && i + 1 < length && filter.charAt(i + 1) == '\'') {
+            literal.append('\'');
+            i += 2;
+          } else if (next == '\'') {
+            i++;
+            break;
+          } else if (next == '\\') {
+            return verbatim;
+          } else {
+            literal.append(next);
+            i++;
+          }
+        }
+
+        if (literal.toString().startsWith("{")) {
+          return verbatim;
+        }
+
+        text.append(placeholder.apply(literals.size()));
+        literals.add(literal.toString());
+      } else if (c == '"') {
+        int end = filter.indexOf('"', i + 1);
+        if (end < 0) {
+          throw new SdkException("Failed to parse query filter: unterminated quoted identifier");
+        }
+
+        text.append(filter, i, end + 1);
+        i = end + 1;
+      } else if (Character.isDigit(c) && (i == 0 || !isIdentifierPart(filter.charAt(i - 1)))) {
+        int end = i;
+        while (end < length && (Character.isDigit(filter.charAt(end))
+            || (filter.charAt(end) == '.' && end + 1 < length
+            && Character.isDigit(filter.charAt(end + 1))))) {
+          end++;
+        }
+
+        if (end < length && isIdentifierPart(filter.charAt(end))) {
+          text.append(filter, i, end);
+        } else if (!acceptsLiteral(filter, i)) {
+          return verbatim;
+        } else {
+          text.append(placeholder.apply(literals.size()));
+          literals.add(toNumber(filter.substring(i, end)));
+        }
+
+        i = end;
+      } else {
+        text.append(c);
+        i++;
+      }
+    }
+
+    return new Template(text.toString(), literals);
+  }
+
+  private static boolean startsComment(String filter, int index) {
+    return filter.startsWith("--", index) || filter.startsWith("/*", index);
+  }
+
+  /**
+   * Whether a literal starting at the given index stands on its own. A literal directly preceded
+   * by a word other than a keyword is typed, as in {@code DATE '2024-01-01'}, {@code E'\n'} or
+   * {@code INTERVAL '1 day'}, and must stay part of the statement text.
+   */
+  private static boolean acceptsLiteral(String filter, int index) {
+    int end = index;
+    while (end > 0 && Character.isWhitespace(filter.charAt(end - 1))) {
+      end--;
+    }
+
+    int start = end;
+    while (start > 0 && isWordPart(filter.charAt(start - 1))) {
+      start--;
+    }
+
+    if (start == end) {
+      return end == 0 || filter.charAt(end - 1) != '"';
+    }
+
+    return LITERAL_KEYWORDS.contains(filter.substring(start, end).toUpperCase(Locale.ROOT));
+  }
+
+  private static boolean isWordPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+  }
+
+  private static Object toNumber(String number) {
+    if (number.indexOf('.') < 0 && number.length() < 19) {
+      return Long.parseLong(number);
+    }
+
+    return new BigDecimal(number);
+  }
+
+  private record Template(String text, List<Object> literals) {}
+
+  private record FilterKey(Database database, String filter) {}
+}
@@ -0,0 +1,26 @@
+package io.iamcore.filter;
+
+import io.iamcore.server.dto.Database;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JPQL condition with its literals replaced by named parameters ({@code :p1}, {@code :p2}, ...).
+ * Filters that differ only in their literal values share the same {@code jpql}.
+ *
+ * @param jpql the condition, suitable for a {@code WHERE} clause.
+ * @param parameters the parameter values by name, in placeholder order.
+ */
+public record JpaQueryFilter(String jpql, Map<String, Object> parameters)
+    implements DbQueryFilter {
+
+  public JpaQueryFilter {
+    parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+  }
+
+  @Override
+  public Database getDatabase() {
+    return Database.JPA;
+  }
+}
@@ -0,0 +1,23 @@
+package io.iamcore.filter;
+
+import io.iamcore.server.dto.Database;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Mongo filter document. The map can be passed to {@code new Document(map)} or to any driver
+ * API accepting a {@code Map<String, Object>}.
+ *
+ * @param document the parsed filter; nested values are plain maps, lists and scalars.
+ */
+public record MongoQueryFilter(Map<String, Object> document) implements DbQueryFilter {
+
+  public MongoQueryFilter {
+    document = Collections.unmodifiableMap(document);
+  }
+
+  @Override
+  public Database getDatabase() {
+    return Database.MONGO;
+  }
+}
@@ -0,0 +1,23 @@
+package io.iamcore.filter;
+
+import io.iamcore.server.dto.Database;
+import java.util.List;
+
+/**
+ * SQL condition with its literals replaced by {@code ?} placeholders. Filters that differ only
+ * in their literal values share the same {@code sql}, so prepared statements can be reused.
+ *
+ * @param sql the condition, suitable for a {@code WHERE} clause.
+ * @param parameters the bind values, in placeholder order.
+ */
+public record SqlQueryFilter(String sql, List<Object> parameters) implements DbQueryFilter {
+
+  public SqlQueryFilter {
+    parameters = List.copyOf(parameters);
+  }
+
+  @Override
+  public Database getDatabase() {
+    return Database.POSTGRES;
+  }
+}
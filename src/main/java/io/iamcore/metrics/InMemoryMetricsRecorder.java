@@ -0,0 +1,32 @@
+package io.iamcore.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dependency-free recorder that keeps cumulative metrics per logical operation in memory, for
+ * applications without a metrics library or for exporting through their own reporter.
+ */
+public class InMemoryMetricsRecorder implements MetricsRecorder {
+
+  private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+  @Override
+  public void record(RequestSample sample) {
+    operations.computeIfAbsent(sample.operation(), operation -> new OperationMetrics())
+        .record(sample);
+  }
+
+  public Optional<OperationMetrics> getOperation(String operation) {
+    return Optional.ofNullable(operations.get(operation));
+  }
+
+  /**
+   * Returns a live, unmodifiable view of the metrics keyed by operation name.
+   */
+  public Map<String, OperationMetrics> getOperations() {
+    return Collections.unmodifiableMap(operations);
+  }
+}
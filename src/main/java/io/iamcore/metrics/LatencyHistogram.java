@@ -0,0 +1,95 @@
+package io.iamcore.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative values with log-linear buckets in the style of HdrHistogram: values
+ * below 128 are counted exactly and every larger power of two is split into 64 buckets, so any
+ * reported value is within 1/64 (about 1.6%) of the recorded one. Recording is lock-free and
+ * never allocates; reads see a weakly consistent view while recording continues.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int EXACT_LIMIT = 2 * SUB_BUCKET_COUNT;
+  private static final int BUCKET_COUNT = indexOf(Long.MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalValue = new LongAdder();
+  private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+
+  public void record(long value) {
+    long clamped = Math.max(value, 0);
+
+    counts.incrementAndGet(indexOf(clamped));
+    totalCount.increment();
+    totalValue.add(clamped);
+    maxValue.accumulate(clamped);
+  }
+
+  public long getCount() {
+    return totalCount.sum();
+  }
+
+  public long getMax() {
+    return maxValue.get();
+  }
+
+  public double getMean() {
+    long count = totalCount.sum();
+
+    return count == 0 ? 0 : (double) totalValue.sum() / count;
+  }
+
+  /**
+   * Returns the highest value equivalent to the one at the percentile, capped at the maximum
+   * recorded value.
+   *
+   * @param percentile a percentile between 0 and 100, for example {@code 99.9}.
+   */
+  public long getValueAtPercentile(double percentile) {
+    long count = totalCount.sum();
+    if (count == 0) {
+      return 0;
+    }
+
+    double fraction = Math.min(Math.max(percentile, 0), 100) / 100;
+    long rank = Math.max(1, (long) Math.ceil(fraction * count));
+    long seen = 0;
+
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      seen += counts.get(index);
+      if (seen >= rank) {
+        return Math.min(highestEquivalentValue(index), getMax());
+      }
+    }
+
+    return getMax();
+  }
+
+  static int indexOf(long value) {
+    if (value < EXACT_LIMIT) {
+      return (int) value;
+    }
+
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+    return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+  }
+
+  static long highestEquivalentValue(int index) {
+    if (index < EXACT_LIMIT) {
+      return index;
+    }
+
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long subBucket = index - (long) shift * SUB_BUCKET_COUNT;
+    long next = (subBucket + 1) << shift;
+
+    return next <= 0 ? Long.MAX_VALUE : next - 1;
+  }
+}
@@ -0,0 +1,13 @@
+package io.iamcore.metrics;
+
+/**
+ * Receives a sample for every HTTP exchange with the iamcore server. Implementations are called
+ * on the thread that completes the exchange, so they must be thread-safe and must not block.
+ *
+ * @see InMemoryMetricsRecorder
+ */
+@FunctionalInterface
+public interface MetricsRecorder {
+
+  void record(RequestSample sample);
+}
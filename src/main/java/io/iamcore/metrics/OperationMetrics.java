@@ -0,0 +1,46 @@
+package io.iamcore.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram of one logical operation. Latencies are in nanoseconds.
+ */
+public class OperationMetrics {
+
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder errorCount = new LongAdder();
+  private final LongAdder requestBytes = new LongAdder();
+  private final LongAdder responseBytes = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  void record(RequestSample sample) {
+    requestCount.increment();
+    if (sample.failed()) {
+      errorCount.increment();
+    }
+
+    requestBytes.add(sample.requestBytes());
+    responseBytes.add(sample.responseBytes());
+    latency.record(sample.durationNanos());
+  }
+
+  public long getRequestCount() {
+    return requestCount.sum();
+  }
+
+  public long getErrorCount() {
+    return errorCount.sum();
+  }
+
+  public long getRequestBytes() {
+    return requestBytes.sum();
+  }
+
+  public long getResponseBytes() {
+    return responseBytes.sum();
+  }
+
+  public LatencyHistogram getLatency() {
+    return latency;
+  }
+}
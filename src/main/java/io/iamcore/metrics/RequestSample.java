@@ -0,0 +1,19 @@
+package io.iamcore.metrics;
+
+/**
+ * Outcome of one HTTP exchange with the iamcore server.
+ *
+ * @param operation the logical operation, such as {@code getPrincipalIrn} or
+ *     {@code authorizedOnResources}; every page of a paged operation is a separate exchange.
+ * @param statusCode the response status, or {@code 0} when no response was received.
+ * @param failed whether the exchange ended in an exception, including non-2xx responses.
+ * @param requestBytes the size of the request body.
+ * @param responseBytes the number of response body bytes read by the SDK.
+ */
+public record RequestSample(
+    String operation,
+    int statusCode,
+    boolean failed,
+    long durationNanos,
+    long requestBytes,
+    long responseBytes) {}
@@ -0,0 +1,65 @@
+package io.iamcore.server;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.server.dto.CreateResourceRequestDto;
+import io.iamcore.server.dto.CreateResourceTypeRequestDto;
+import io.iamcore.server.dto.Database;
+import io.iamcore.server.dto.DeleteResourcesRequestDto;
+import io.iamcore.server.dto.PoolResponse;
+import io.iamcore.server.dto.PoolsQueryFilter;
+import io.iamcore.server.dto.ResourceTypeDto;
+import io.iamcore.server.dto.ResourceTypesSnapshot;
+import io.iamcore.server.dto.UpdateResourceRequestDto;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link ServerClient}. Returned futures complete exceptionally with
+ * {@link io.iamcore.exception.IamcoreServerException} or {@link io.iamcore.exception.SdkException}
+ * in the same situations where the blocking methods throw them.
+ */
+public interface AsyncServerClient {
+
+  CompletableFuture<IRN> getPrincipalIrnAsync(HttpHeader header);
+
+  CompletableFuture<Void> authorizedOnIrnsAsync(HttpHeader authorizationHeader, String action,
+      List<IRN> irns);
+
+  CompletableFuture<List<IRN>> authorizedOnResourcesAsync(HttpHeader authorizationHeader,
+      String action, List<IRN> resources);
+
+  CompletableFuture<List<IRN>> authorizedOnResourceTypeAsync(HttpHeader header, String action,
+      String application, String tenantId, String resourceType);
+
+  CompletableFuture<String> authorizationDbQueryFilterAsync(HttpHeader header, String action,
+      Database database);
+
+  CompletableFuture<IRN> createResourceAsync(HttpHeader header,
+      CreateResourceRequestDto requestDto);
+
+  CompletableFuture<Void> updateResourceAsync(HttpHeader header, IRN resourceIrn,
+      UpdateResourceRequestDto requestDto);
+
+  CompletableFuture<Void> deleteResourceAsync(HttpHeader header, IRN resourceIrn);
+
+  CompletableFuture<Void> deleteResourcesAsync(HttpHeader header,
+      DeleteResourcesRequestDto requestDto);
+
+  CompletableFuture<Void> createResourceTypeAsync(HttpHeader header, IRN application,
+      CreateResourceTypeRequestDto requestDto);
+
+  CompletableFuture<List<ResourceTypeDto>> getResourceTypesAsync(HttpHeader header,
+      IRN applicationIrn);
+
+  CompletableFuture<ResourceTypesSnapshot> getResourceTypesSnapshotAsync(HttpHeader header,
+      IRN applicationIrn, ResourceTypesSnapshot previous);
+
+  CompletableFuture<Optional<String>> getPrincipalApiKeyAsync(HttpHeader header,
+      IRN principalIrn);
+
+  CompletableFuture<String> createPrincipalApiKeyAsync(HttpHeader header, IRN principalIrn);
+
+  CompletableFuture<List<PoolResponse>> getPoolsAsync(HttpHeader header, PoolsQueryFilter filter);
+}
@@ -0,0 +1,192 @@
+package io.iamcore.server;
+
+import io.iamcore.exception.CircuitBreakerOpenException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops sending requests to an endpoint group that is failing or slow. While closed, outcomes
+ * are counted in a rolling time window; once the window holds enough calls and the failure or
+ * slow-call rate reaches its threshold, the breaker opens and rejects calls for the open
+ * duration. It then lets a few probe calls through: if they all succeed in time it closes again,
+ * otherwise it reopens.
+ */
+class CircuitBreaker {
+
+  private static final int WINDOW_BUCKETS = 10;
+
+  private final String name;
+  private final Config config;
+  private final LongSupplier nanoClock;
+  private final long bucketNanos;
+  private final Bucket[] buckets = new Bucket[WINDOW_BUCKETS];
+  private State state = State.CLOSED;
+  private long openUntilNanos;
+  private int probesStarted;
+  private int probesSucceeded;
+
+  CircuitBreaker(String name, Config config) {
+    this(name, config, System::nanoTime);
+  }
+
+  CircuitBreaker(String name, Config config, LongSupplier nanoClock) {
+    this.name = name;
+    this.config = config;
+    this.nanoClock = nanoClock;
+    this.bucketNanos = Math.max(1, config.window().toNanos() / WINDOW_BUCKETS);
+
+    for (int i = 0; i < WINDOW_BUCKETS; i++) {
+      buckets[i] = new Bucket();
+    }
+  }
+
+  /**
+   * Admits a call or rejects it while the breaker is open or all half-open probes are taken.
+   */
+  synchronized void acquire() {
+    if (state == State.OPEN) {
+      if (nanoClock.getAsLong() - openUntilNanos < 0) {
+        throw new CircuitBreakerOpenException(
+            "Circuit breaker for iamcore " + name + " requests is open", name);
+      }
+
+      state = State.HALF_OPEN;
+      probesStarted = 0;
+      probesSucceeded = 0;
+    }
+
+    if (state == State.HALF_OPEN) {
+      if (probesStarted >= config.halfOpenProbes()) {
+        throw new CircuitBreakerOpenException(
+            "Circuit breaker for iamcore " + name + " requests is half-open", name);
+      }
+
+      probesStarted++;
+    }
+  }
+
+  /**
+   * Records the outcome of an admitted call.
+   *
+   * @param failed whether the call failed in a way that indicates a degraded server.
+   */
+  synchronized void record(long durationNanos, boolean failed) {
+    long nowNanos = nanoClock.getAsLong();
+    boolean slow = durationNanos >= config.slowCallDuration().toNanos();
+
+    switch (state) {
+      case CLOSED -> {
+        bucketAt(nowNanos).add(failed, slow);
+        if (isDegraded(nowNanos)) {
+          open(nowNanos);
+        }
+      }
+      case HALF_OPEN -> {
+        if (failed || slow) {
+          open(nowNanos);
+        } else if (++probesSucceeded >= config.halfOpenProbes()) {
+          close();
+        }
+      }
+      default -> {
+        // Open: the call was admitted before the breaker opened; its outcome changes nothing.
+      }
+    }
+  }
+
+  /**
+   * Gives back the slot of an admitted call whose outcome says nothing about the server, such as
+   * a request the client failed to build, so that it does not hold a half-open probe.
+   */
+  synchronized void release() {
+    if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+      probesStarted--;
+    }
+  }
+
+  synchronized State getState() {
+    return state;
+  }
+
+  private boolean isDegraded(long nowNanos) {
+    long currentBucket = Math.floorDiv(nowNanos, bucketNanos);
+    long calls = 0;
+    long failures = 0;
+    long slowCalls = 0;
+
+    for (Bucket bucket : buckets) {
+      if (bucket.index > currentBucket - WINDOW_BUCKETS) {
+        calls += bucket.calls;
+        failures += bucket.failures;
+        slowCalls += bucket.slowCalls;
+      }
+    }
+
+    return calls >= config.minimumCalls()
+        && (failures >= config.failureRateThreshold() * calls
+        || slowCalls >= config.slowCallRateThreshold() * calls);
+  }
+
+  private Bucket bucketAt(long nowNanos) {
+    long index = Math.floorDiv(nowNanos, bucketNanos);
+    Bucket bucket = buckets[(int) Math.floorMod(index, (long) WINDOW_BUCKETS)];
+
+    if (bucket.index != index) {
+      bucket.reset(index);
+    }
+
+    return bucket;
+  }
+
+  private void open(long nowNanos) {
+    state = State.OPEN;
+    openUntilNanos = nowNanos + config.openDuration().toNanos();
+  }
+
+  private void close() {
+    state = State.CLOSED;
+
+    for (Bucket bucket : buckets) {
+      bucket.reset(Long.MIN_VALUE);
+    }
+  }
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  /**
+   * Thresholds of a circuit breaker; the rates are fractions between 0 and 1.
+   */
+  record Config(
+      double failureRateThreshold,
+      double slowCallRateThreshold,
+      Duration slowCallDuration,
+      Duration window,
+      int minimumCalls,
+      Duration openDuration,
+      int halfOpenProbes) {}
+
+  private static final class Bucket {
+
+    private long index = Long.MIN_VALUE;
+    private long calls;
+    private long failures;
+    private long slowCalls;
+
+    void add(boolean failed, boolean slow) {
+      calls++;
+      failures += failed ? 1 : 0;
+      slowCalls += slow ? 1 : 0;
+    }
+
+    void reset(long index) {
+      this.index = index;
+      calls = 0;
+      failures = 0;
+      slowCalls = 0;
+    }
+  }
+}
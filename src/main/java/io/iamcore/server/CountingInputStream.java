@@ -0,0 +1,50 @@
+package io.iamcore.server;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read from a response body so that payload sizes can be reported without
+ * buffering the body.
+ */
+class CountingInputStream extends FilterInputStream {
+
+  private long count;
+
+  CountingInputStream(InputStream in) {
+    super(in);
+  }
+
+  long getCount() {
+    return count;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int value = super.read();
+    if (value != -1) {
+      count++;
+    }
+
+    return value;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    int read = super.read(buffer, offset, length);
+    if (read > 0) {
+      count += read;
+    }
+
+    return read;
+  }
+
+  @Override
+  public long skip(long length) throws IOException {
+    long skipped = super.skip(length);
+    count += skipped;
+
+    return skipped;
+  }
+}
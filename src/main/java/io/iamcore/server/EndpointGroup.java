@@ -0,0 +1,24 @@
+package io.iamcore.server;
+
+/**
+ * Server endpoints that degrade together and therefore share a circuit breaker.
+ */
+enum EndpointGroup {
+  EVALUATION,
+  PRINCIPALS,
+  RESOURCES,
+  RESOURCE_TYPES,
+  POOLS;
+
+  static EndpointGroup of(String operation) {
+    return switch (operation) {
+      case "authorizedOnIrns", "authorizedOnResources", "authorizedOnResourceType",
+           "authorizationDbQueryFilter" -> EVALUATION;
+      case "getPrincipalIrn", "getPrincipalApiKey", "createPrincipalApiKey" -> PRINCIPALS;
+      case "createResource", "updateResource", "deleteResource", "deleteResources" -> RESOURCES;
+      case "createResourceType", "getResourceTypes" -> RESOURCE_TYPES;
+      case "getPools" -> POOLS;
+      default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+    };
+  }
+}
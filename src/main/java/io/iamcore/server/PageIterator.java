@@ -0,0 +1,138 @@
+package io.iamcore.server;
+
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.dto.PageableResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the items of a paginated endpoint, fetching pages only as they are consumed.
+ * With prefetching enabled the next page is requested as soon as the current one arrives.
+ */
+class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+  static final int FIRST_PAGE = 1;
+
+  private final IntFunction<CompletableFuture<PageableResponse<T>>> pageFetcher;
+  private final int pageSize;
+  private final boolean prefetch;
+  private Iterator<T> currentPage = Collections.emptyIterator();
+  private CompletableFuture<PageableResponse<T>> nextPage;
+  private int nextPageNumber = FIRST_PAGE;
+  private boolean lastPageFetched;
+
+  PageIterator(IntFunction<CompletableFuture<PageableResponse<T>>> pageFetcher, int pageSize,
+      boolean prefetch) {
+    this.pageFetcher = pageFetcher;
+    this.pageSize = pageSize;
+    this.prefetch = prefetch;
+  }
+
+  static <T> Stream<T> stream(IntFunction<CompletableFuture<PageableResponse<T>>> pageFetcher,
+      int pageSize, boolean prefetch) {
+    PageIterator<T> iterator = new PageIterator<>(pageFetcher, pageSize, prefetch);
+    Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+        Spliterator.ORDERED | Spliterator.NONNULL);
+
+    return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+  }
+
+  /**
+   * Fetches all pages one after another without blocking.
+   */
+  static <T> CompletableFuture<List<T>> collectAsync(
+      IntFunction<CompletableFuture<PageableResponse<T>>> pageFetcher, int pageSize) {
+    return collectAsync(pageFetcher, pageSize, FIRST_PAGE, new ArrayList<>());
+  }
+
+  private static <T> CompletableFuture<List<T>> collectAsync(
+      IntFunction<CompletableFuture<PageableResponse<T>>> pageFetcher, int pageSize, int page,
+      List<T> items) {
+    return pageFetcher.apply(page).thenCompose(response -> {
+      items.addAll(response.data());
+
+      return isLastPage(response, page, pageSize)
+          ? CompletableFuture.completedFuture(items)
+          : collectAsync(pageFetcher, pageSize, page + 1, items);
+    });
+  }
+
+  static boolean isLastPage(PageableResponse<?> response, int page, int pageSize) {
+    return response.data().size() < pageSize
+        || (response.count() != null && (long) page * pageSize >= response.count());
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!currentPage.hasNext()) {
+      if (lastPageFetched) {
+        return false;
+      }
+
+      fetchNextPage();
+    }
+
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    return currentPage.next();
+  }
+
+  @Override
+  public void close() {
+    if (nextPage != null) {
+      nextPage.cancel(false);
+      nextPage = null;
+    }
+
+    lastPageFetched = true;
+    currentPage = Collections.emptyIterator();
+  }
+
+  private void fetchNextPage() {
+    int pageNumber = nextPageNumber++;
+    CompletableFuture<PageableResponse<T>> pageFuture =
+        nextPage == null ? pageFetcher.apply(pageNumber) : nextPage;
+    nextPage = null;
+
+    PageableResponse<T> response = await(pageFuture);
+    lastPageFetched = isLastPage(response, pageNumber, pageSize);
+    currentPage = response.data().iterator();
+
+    if (prefetch && !lastPageFetched) {
+      nextPage = pageFetcher.apply(nextPageNumber);
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+
+      throw new SdkException("Interrupted while waiting for next page: " + ex.getMessage());
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new SdkException("Failed to fetch next page: " + ex.getCause().getMessage());
+    }
+  }
+}
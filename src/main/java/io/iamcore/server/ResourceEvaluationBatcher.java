@@ -0,0 +1,199 @@
+package io.iamcore.server;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.cache.HeaderDigest;
+import io.iamcore.exception.SdkException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Gathers resource evaluations for the same authorization header and action over a short window,
+ * sends them to the server as one request and splits the authorized resources back per caller.
+ * A batch never holds more than the maximum number of distinct resources; a call that does not
+ * fit is spread over several batches.
+ */
+class ResourceEvaluationBatcher implements AutoCloseable {
+
+  private final Duration window;
+  private final int maxBatchSize;
+  private final Evaluator evaluator;
+  private final ScheduledExecutorService flushExecutor;
+  private final Map<BatchKey, Batch> pendingBatches = new HashMap<>();
+  private boolean closed;
+
+  ResourceEvaluationBatcher(Duration window, int maxBatchSize, Evaluator evaluator) {
+    this.window = window;
+    this.maxBatchSize = maxBatchSize;
+    this.evaluator = evaluator;
+    this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "iamcore-resource-evaluation-batcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  CompletableFuture<List<IRN>> submit(HttpHeader header, String action, List<IRN> resources) {
+    BatchKey key = new BatchKey(HeaderDigest.of(header), action);
+    List<CompletableFuture<List<IRN>>> parts = new ArrayList<>();
+    List<Batch> fullBatches = new ArrayList<>();
+
+    synchronized (pendingBatches) {
+      if (closed) {
+        return CompletableFuture.failedFuture(
+            new SdkException("Resource evaluation batcher is closed"));
+      }
+
+      int start = 0;
+
+      do {
+        Batch batch = pendingBatch(key, header, action);
+        int end = start;
+        while (end < resources.size() && batch.add(resources.get(end), maxBatchSize)) {
+          end++;
+        }
+
+        CompletableFuture<List<IRN>> part = new CompletableFuture<>();
+        batch.callers.add(new Caller(resources.subList(start, end), part));
+        parts.add(part);
+
+        if (batch.size() >= maxBatchSize) {
+          pendingBatches.remove(key);
+          fullBatches.add(batch);
+        }
+
+        start = end;
+      } while (start < resources.size());
+    }
+
+    fullBatches.forEach(this::dispatch);
+
+    if (parts.size() == 1) {
+      return parts.getFirst();
+    }
+
+    return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+        .thenApply(ignored -> parts.stream()
+            .flatMap(part -> part.join().stream())
+            .toList());
+  }
+
+  /**
+   * Stops the flush timer and sends the batches that are still collecting right away, so that no
+   * caller is left waiting. Calls submitted afterwards fail immediately.
+   */
+  @Override
+  public void close() {
+    List<Batch> batches;
+    synchronized (pendingBatches) {
+      closed = true;
+      batches = new ArrayList<>(pendingBatches.values());
+      pendingBatches.clear();
+    }
+
+    flushExecutor.shutdownNow();
+    batches.forEach(this::dispatch);
+  }
+
+  private Batch pendingBatch(BatchKey key, HttpHeader header, String action) {
+    Batch batch = pendingBatches.get(key);
+    if (batch == null) {
+      batch = new Batch(header, action);
+
+      Batch scheduledBatch = batch;
+      flushExecutor.schedule(() -> flush(key, scheduledBatch), window.toNanos(),
+          TimeUnit.NANOSECONDS);
+      pendingBatches.put(key, batch);
+    }
+
+    return batch;
+  }
+
+  private void flush(BatchKey key, Batch batch) {
+    synchronized (pendingBatches) {
+      if (!pendingBatches.remove(key, batch)) {
+        return;
+      }
+    }
+
+    dispatch(batch);
+  }
+
+  private void dispatch(Batch batch) {
+    List<IRN> resources = new ArrayList<>(batch.resources.values());
+
+    CompletableFuture<List<IRN>> evaluation;
+    try {
+      evaluation = evaluator.evaluate(batch.header, batch.action, resources);
+    } catch (RuntimeException ex) {
+      evaluation = CompletableFuture.failedFuture(ex);
+    }
+
+    evaluation.whenComplete((authorizedResources, ex) -> {
+      if (ex != null) {
+        batch.callers.forEach(caller -> caller.result().completeExceptionally(ex));
+        return;
+      }
+
+      Set<String> authorized = authorizedResources.stream()
+          .map(IRN::toString)
+          .collect(Collectors.toSet());
+
+      for (Caller caller : batch.callers) {
+        caller.result().complete(caller.resources().stream()
+            .filter(resource -> authorized.contains(resource.toString()))
+            .toList());
+      }
+    });
+  }
+
+  @FunctionalInterface
+  interface Evaluator {
+
+    CompletableFuture<List<IRN>> evaluate(HttpHeader header, String action, List<IRN> resources);
+  }
+
+  private record BatchKey(String principal, String action) {}
+
+  private record Caller(List<IRN> resources, CompletableFuture<List<IRN>> result) {}
+
+  private static class Batch {
+
+    private final HttpHeader header;
+    private final String action;
+    private final Map<String, IRN> resources = new LinkedHashMap<>();
+    private final List<Caller> callers = new ArrayList<>();
+
+    Batch(HttpHeader header, String action) {
+      this.header = header;
+      this.action = action;
+    }
+
+    /**
+     * Adds the resource unless that would grow the batch past the maximum size.
+     */
+    boolean add(IRN resource, int maxSize) {
+      String key = resource.toString();
+      if (!resources.containsKey(key) && resources.size() >= maxSize) {
+        return false;
+      }
+
+      resources.putIfAbsent(key, resource);
+      return true;
+    }
+
+    int size() {
+      return resources.size();
+    }
+  }
+}
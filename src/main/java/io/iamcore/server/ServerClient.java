@@ -9,9 +9,11 @@ import io.iamcore.server.dto.DeleteResourcesRequestDto;
 import io.iamcore.server.dto.PoolResponse;
 import io.iamcore.server.dto.PoolsQueryFilter;
 import io.iamcore.server.dto.ResourceTypeDto;
+import io.iamcore.server.dto.ResourceTypesSnapshot;
 import io.iamcore.server.dto.UpdateResourceRequestDto;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ServerClient {
 
@@ -24,6 +26,13 @@ public interface ServerClient {
   List<IRN> authorizedOnResourceType(HttpHeader header, String action, String application,
       String tenantId, String resourceType);
 
+  /**
+   * Streams authorized resources page by page. Pages are fetched as the stream is consumed;
+   * closing the stream cancels a prefetched page.
+   */
+  Stream<IRN> streamAuthorizedOnResourceType(HttpHeader header, String action,
+      String application, String tenantId, String resourceType);
+
   String authorizationDbQueryFilter(HttpHeader header, String action, Database database);
 
   IRN createResource(HttpHeader header, CreateResourceRequestDto requestDto);
@@ -38,9 +47,23 @@ public interface ServerClient {
 
   List<ResourceTypeDto> getResourceTypes(HttpHeader header, IRN applicationIrn);
 
+  Stream<ResourceTypeDto> streamResourceTypes(HttpHeader header, IRN applicationIrn);
+
+  /**
+   * Fetches the resource types, sending the validators of the previous snapshot so that pages
+   * the server reports as not modified are reused. Returns the previous snapshot itself when no
+   * page has changed.
+   *
+   * @param previous the snapshot to revalidate, or {@code null} to fetch everything.
+   */
+  ResourceTypesSnapshot getResourceTypesSnapshot(HttpHeader header, IRN applicationIrn,
+      ResourceTypesSnapshot previous);
+
   Optional<String> getPrincipalApiKey(HttpHeader header, IRN principalIrn);
 
   String createPrincipalApiKey(HttpHeader header, IRN principalIrn);
 
   List<PoolResponse> getPools(HttpHeader header, PoolsQueryFilter filter);
+
+  Stream<PoolResponse> streamPools(HttpHeader header, PoolsQueryFilter filter);
 }
@@ -5,13 +5,22 @@ import static io.iamcore.server.ServerClientImpl.HttpMethod.GET;
 import static io.iamcore.server.ServerClientImpl.HttpMethod.PATCH;
 import static io.iamcore.server.ServerClientImpl.HttpMethod.POST;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.iamcore.ClientProperties;
 import io.iamcore.HttpHeader;
 import io.iamcore.IRN;
 import io.iamcore.StringUtils;
+import io.iamcore.cache.HeaderDigest;
+import io.iamcore.cache.SingleFlight;
+import io.iamcore.exception.CircuitBreakerOpenException;
 import io.iamcore.exception.IamcoreServerException;
 import io.iamcore.exception.SdkException;
+import io.iamcore.metrics.MetricsRecorder;
+import io.iamcore.metrics.RequestSample;
 import io.iamcore.server.dto.ApiKeyResponse;
 import io.iamcore.server.dto.AuthorizationDbQueryFilterRequest;
 import io.iamcore.server.dto.CreateResourceRequestDto;
@@ -26,20 +35,36 @@ import io.iamcore.server.dto.PoolResponse;
 import io.iamcore.server.dto.PoolsQueryFilter;
 import io.iamcore.server.dto.ResourceResponse;
 import io.iamcore.server.dto.ResourceTypeDto;
+import io.iamcore.server.dto.ResourceTypesSnapshot;
 import io.iamcore.server.dto.UpdateResourceRequestDto;
+import io.iamcore.server.dto.ValidatedPage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class ServerClientImpl implements ServerClient {
+public class ServerClientImpl implements ServerClient, AsyncServerClient, AutoCloseable {
 
   static final String USER_IRN_PATH = "/api/v1/users/me/irn";
   static final String EVALUATE_PATH = "/api/v1/evaluate";
@@ -52,147 +77,561 @@ public class ServerClientImpl implements ServerClient {
   static final String API_KEY_PATH_TEMPLATE = "/api/v1/principals/%s/api-keys";
   static final String POOLS_PATH = "/api/v1/pools";
 
-  private static final int PAGE_SIZE = 100000;
+  private static final int DEFAULT_PAGE_SIZE = 1000;
+  private static final int HTTP_NOT_MODIFIED = 304;
 
   private final URI serverUrl;
   private final ObjectMapper objectMapper;
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+  private final ObjectReader dataOfStringReader;
+  private final ObjectReader dataOfResourceReader;
+  private final ObjectReader stringListReader;
+  private final ObjectReader pageOfStringsReader;
+  private final ObjectReader pageOfResourceTypesReader;
+  private final ObjectReader pageOfPoolsReader;
+  private final ObjectReader pageOfApiKeysReader;
+  private final ObjectReader errorResponseReader;
   private final HttpClient httpClient;
+  private final HttpResponse.BodyHandler<InputStream> bodyHandler;
+  private final HttpResponse.BodyHandler<InputStream> asyncBodyHandler;
+  private final MetricsRecorder metricsRecorder;
+  private final Map<EndpointGroup, CircuitBreaker> circuitBreakers;
+  private final Duration requestTimeout;
+  private final SingleFlight<RequestKey, ?> inFlightRequests;
+  private final ResourceEvaluationBatcher evaluationBatcher;
+  private final int pageSize;
+  private final boolean pagePrefetchEnabled;
 
   public ServerClientImpl(URI serverUrl, ObjectMapper objectMapper) {
+    this(serverUrl, objectMapper, HttpClient.newHttpClient());
+  }
+
+  public ServerClientImpl(URI serverUrl, ObjectMapper objectMapper, HttpClient httpClient) {
+    this(serverUrl, objectMapper, httpClient, true, null, 0, DEFAULT_PAGE_SIZE, false, null, null,
+        null);
+  }
+
+  public ServerClientImpl(
+      ClientProperties properties, ObjectMapper objectMapper, HttpClient httpClient) {
+    this(
+        properties.getServerUrl(),
+        objectMapper,
+        httpClient,
+        properties.isRequestCoalescingEnabled(),
+        properties.getEvaluationBatchWindow(),
+        properties.getEvaluationBatchMaxSize(),
+        properties.getPageSize(),
+        properties.isPagePrefetchEnabled(),
+        properties.getMetricsRecorder(),
+        properties.isCircuitBreakerEnabled() ? circuitBreakerConfig(properties) : null,
+        requestTimeout(properties));
+  }
+
+  private ServerClientImpl(
+      URI serverUrl,
+      ObjectMapper objectMapper,
+      HttpClient httpClient,
+      boolean requestCoalescingEnabled,
+      Duration evaluationBatchWindow,
+      int evaluationBatchMaxSize,
+      int pageSize,
+      boolean pagePrefetchEnabled,
+      MetricsRecorder metricsRecorder,
+      CircuitBreaker.Config circuitBreakerConfig,
+      Duration requestTimeout) {
     this.serverUrl = serverUrl;
     this.objectMapper = objectMapper;
-    this.httpClient = HttpClient.newHttpClient();
+    this.dataOfStringReader = objectMapper.readerFor(new TypeReference<DataResponse<String>>() {});
+    this.dataOfResourceReader =
+        objectMapper.readerFor(new TypeReference<DataResponse<ResourceResponse>>() {});
+    this.stringListReader = objectMapper.readerFor(new TypeReference<List<String>>() {});
+    this.pageOfStringsReader =
+        objectMapper.readerFor(new TypeReference<PageableResponse<String>>() {});
+    this.pageOfResourceTypesReader =
+        objectMapper.readerFor(new TypeReference<PageableResponse<ResourceTypeDto>>() {});
+    this.pageOfPoolsReader =
+        objectMapper.readerFor(new TypeReference<PageableResponse<PoolResponse>>() {});
+    this.pageOfApiKeysReader =
+        objectMapper.readerFor(new TypeReference<PageableResponse<ApiKeyResponse>>() {});
+    this.errorResponseReader =
+        objectMapper.readerFor(new TypeReference<Map<String, String>>() {});
+    this.httpClient = httpClient;
+    this.metricsRecorder = metricsRecorder;
+    this.circuitBreakers = circuitBreakerConfig == null
+        ? null
+        : circuitBreakers(circuitBreakerConfig);
+    this.requestTimeout = requestTimeout;
+    this.bodyHandler = metricsRecorder == null
+        ? HttpResponse.BodyHandlers.ofInputStream()
+        : responseInfo -> HttpResponse.BodySubscribers.mapping(
+            HttpResponse.BodySubscribers.ofInputStream(), CountingInputStream::new);
+    this.asyncBodyHandler = responseInfo -> HttpResponse.BodySubscribers.mapping(
+        HttpResponse.BodySubscribers.ofByteArray(), this::bufferedBody);
+    this.inFlightRequests = requestCoalescingEnabled ? new SingleFlight<>() : null;
+    this.evaluationBatcher =
+        evaluationBatchWindow == null
+            ? null
+            : new ResourceEvaluationBatcher(
+                evaluationBatchWindow,
+                evaluationBatchMaxSize,
+                (header, action, resources) ->
+                    executeAsync(authorizedOnResourcesRequest(header, action, resources)));
+    this.pageSize = pageSize;
+    this.pagePrefetchEnabled = pagePrefetchEnabled;
+  }
+
+  /**
+   * A circuit breaker only learns about calls that complete, so without a configured timeout it
+   * bounds each call at twice the slow call duration.
+   */
+  private static Duration requestTimeout(ClientProperties properties) {
+    if (properties.getRequestTimeout() != null || !properties.isCircuitBreakerEnabled()) {
+      return properties.getRequestTimeout();
+    }
+
+    return properties.getCircuitBreakerSlowCallDuration().multipliedBy(2);
+  }
+
+  private static CircuitBreaker.Config circuitBreakerConfig(ClientProperties properties) {
+    return new CircuitBreaker.Config(
+        properties.getCircuitBreakerFailureRateThreshold(),
+        properties.getCircuitBreakerSlowCallRateThreshold(),
+        properties.getCircuitBreakerSlowCallDuration(),
+        properties.getCircuitBreakerWindow(),
+        properties.getCircuitBreakerMinimumCalls(),
+        properties.getCircuitBreakerOpenDuration(),
+        properties.getCircuitBreakerHalfOpenProbes());
+  }
+
+  private static Map<EndpointGroup, CircuitBreaker> circuitBreakers(CircuitBreaker.Config config) {
+    Map<EndpointGroup, CircuitBreaker> circuitBreakers = new EnumMap<>(EndpointGroup.class);
+    for (EndpointGroup group : EndpointGroup.values()) {
+      circuitBreakers.put(group, new CircuitBreaker(group.name().toLowerCase(Locale.ROOT), config));
+    }
+
+    return circuitBreakers;
+  }
+
+  /**
+   * Stops the evaluation batcher, sending the batches it is still collecting right away.
+   */
+  @Override
+  public void close() {
+    if (evaluationBatcher != null) {
+      evaluationBatcher.close();
+    }
   }
 
   @Override
   public IRN getPrincipalIrn(HttpHeader header) {
-    DataResponse<String> principalIrnResponse =
-        executeRequest(USER_IRN_PATH, GET, header, null, new TypeReference<>() {});
+    return execute(principalIrnRequest(header));
+  }
 
-    return IRN.from(principalIrnResponse.data());
+  @Override
+  public CompletableFuture<IRN> getPrincipalIrnAsync(HttpHeader header) {
+    return executeAsync(principalIrnRequest(header));
+  }
+
+  private ServerRequest<IRN> principalIrnRequest(HttpHeader header) {
+    return ServerRequest.coalesced("getPrincipalIrn", USER_IRN_PATH, GET, header, null, response -> {
+      DataResponse<String> principalIrnResponse =
+          readResponse(response.body(), dataOfStringReader);
+
+      return IRN.from(principalIrnResponse.data());
+    });
   }
 
   @Override
   public void authorizedOnIrns(HttpHeader authorizationHeader, String action, List<IRN> irns) {
+    execute(authorizedOnIrnsRequest(authorizationHeader, action, irns));
+  }
+
+  @Override
+  public CompletableFuture<Void> authorizedOnIrnsAsync(
+      HttpHeader authorizationHeader, String action, List<IRN> irns) {
+    return executeAsync(authorizedOnIrnsRequest(authorizationHeader, action, irns));
+  }
+
+  private ServerRequest<Void> authorizedOnIrnsRequest(
+      HttpHeader authorizationHeader, String action, List<IRN> irns) {
     EvaluateResourcesRequest requestBody =
         new EvaluateResourcesRequest(action, irns.stream().map(IRN::toString).toList());
 
-    executeRequest(EVALUATE_PATH, POST, authorizationHeader, requestBody);
+    return ServerRequest.coalesced("authorizedOnIrns", EVALUATE_PATH, POST, authorizationHeader,
+        requestBody, response -> null);
   }
 
   @Override
   public List<IRN> authorizedOnResources(
       HttpHeader authorizationHeader, String action, List<IRN> resources) {
+    if (evaluationBatcher != null) {
+      return await(
+          evaluationBatcher.submit(authorizationHeader, action, resources),
+          RESOURCES_EVALUATE_PATH);
+    }
+
+    return execute(authorizedOnResourcesRequest(authorizationHeader, action, resources));
+  }
+
+  @Override
+  public CompletableFuture<List<IRN>> authorizedOnResourcesAsync(
+      HttpHeader authorizationHeader, String action, List<IRN> resources) {
+    if (evaluationBatcher != null) {
+      return evaluationBatcher.submit(authorizationHeader, action, resources);
+    }
+
+    return executeAsync(authorizedOnResourcesRequest(authorizationHeader, action, resources));
+  }
+
+  private ServerRequest<List<IRN>> authorizedOnResourcesRequest(
+      HttpHeader authorizationHeader, String action, List<IRN> resources) {
     EvaluateResourcesRequest requestBody =
         new EvaluateResourcesRequest(action, resources.stream().map(IRN::toString).toList());
 
-    List<String> evaluatedResourceIrns =
-        executeRequest(
-            RESOURCES_EVALUATE_PATH,
-            POST,
-            authorizationHeader,
-            requestBody,
-            new TypeReference<>() {});
+    return ServerRequest.coalesced("authorizedOnResources", RESOURCES_EVALUATE_PATH, POST,
+        authorizationHeader, requestBody, response -> {
+          List<String> evaluatedResourceIrns =
+              readResponse(response.body(), stringListReader);
 
-    return evaluatedResourceIrns.stream().map(IRN::from).toList();
+          return evaluatedResourceIrns.stream().map(IRN::from).toList();
+        });
   }
 
   @Override
   public List<IRN> authorizedOnResourceType(
       HttpHeader header, String action, String application, String tenantId, String resourceType) {
+    try (Stream<IRN> resourceIrns =
+        streamAuthorizedOnResourceType(header, action, application, tenantId, resourceType)) {
+      return resourceIrns.toList();
+    }
+  }
+
+  @Override
+  public Stream<IRN> streamAuthorizedOnResourceType(
+      HttpHeader header, String action, String application, String tenantId, String resourceType) {
+    return stream(
+            page ->
+                authorizedOnResourceTypeRequest(
+                    header, action, application, tenantId, resourceType, page))
+        .map(IRN::from);
+  }
+
+  @Override
+  public CompletableFuture<List<IRN>> authorizedOnResourceTypeAsync(
+      HttpHeader header, String action, String application, String tenantId, String resourceType) {
+    return collectAsync(
+            page ->
+                authorizedOnResourceTypeRequest(
+                    header, action, application, tenantId, resourceType, page))
+        .thenApply(resourceIrns -> resourceIrns.stream().map(IRN::from).toList());
+  }
+
+  private ServerRequest<PageableResponse<String>> authorizedOnResourceTypeRequest(
+      HttpHeader header,
+      String action,
+      String application,
+      String tenantId,
+      String resourceType,
+      int page) {
     EvaluateResourceTypeRequest requestBody =
         new EvaluateResourceTypeRequest(
             action, application, resourceType, StringUtils.isEmpty(tenantId) ? null : tenantId);
 
-    String path = String.format("%s?pageSize=%s", EVALUATE_RESOURCES_PATH, PAGE_SIZE);
-
-    PageableResponse<String> pageOfResourceIrns =
-        executeRequest(path, POST, header, requestBody, new TypeReference<>() {});
+    String path =
+        String.format("%s?page=%s&pageSize=%s", EVALUATE_RESOURCES_PATH, page, pageSize);
 
-    return pageOfResourceIrns.data().stream().map(IRN::from).toList();
+    return ServerRequest.coalesced("authorizedOnResourceType", path, POST, header, requestBody,
+        response -> readResponse(response.body(), pageOfStringsReader));
   }
 
   @Override
   public String authorizationDbQueryFilter(
       HttpHeader authorizationHeader, String action, Database database) {
+    return execute(authorizationDbQueryFilterRequest(authorizationHeader, action, database));
+  }
+
+  @Override
+  public CompletableFuture<String> authorizationDbQueryFilterAsync(
+      HttpHeader authorizationHeader, String action, Database database) {
+    return executeAsync(authorizationDbQueryFilterRequest(authorizationHeader, action, database));
+  }
+
+  private ServerRequest<String> authorizationDbQueryFilterRequest(
+      HttpHeader authorizationHeader, String action, Database database) {
     AuthorizationDbQueryFilterRequest requestBody =
         new AuthorizationDbQueryFilterRequest(action, database.getValue());
 
-    DataResponse<String> dbQueryFilterResponse =
-        executeRequest(
-            AUTHORIZATION_QUERY_FILTER_PATH,
-            POST,
-            authorizationHeader,
-            requestBody,
-            new TypeReference<>() {});
+    return ServerRequest.coalesced("authorizationDbQueryFilter", AUTHORIZATION_QUERY_FILTER_PATH,
+        POST, authorizationHeader, requestBody, response -> {
+          DataResponse<String> dbQueryFilterResponse =
+              readResponse(response.body(), dataOfStringReader);
 
-    return dbQueryFilterResponse.data();
+          return dbQueryFilterResponse.data();
+        });
   }
 
   @Override
   public IRN createResource(HttpHeader authorizationHeader, CreateResourceRequestDto requestDto) {
-    DataResponse<ResourceResponse> resourceResponse =
-        executeRequest(
-            RESOURCE_PATH, POST, authorizationHeader, requestDto, new TypeReference<>() {});
+    return execute(createResourceRequest(authorizationHeader, requestDto));
+  }
+
+  @Override
+  public CompletableFuture<IRN> createResourceAsync(
+      HttpHeader authorizationHeader, CreateResourceRequestDto requestDto) {
+    return executeAsync(createResourceRequest(authorizationHeader, requestDto));
+  }
+
+  private ServerRequest<IRN> createResourceRequest(
+      HttpHeader authorizationHeader, CreateResourceRequestDto requestDto) {
+    return new ServerRequest<>("createResource", RESOURCE_PATH, POST, authorizationHeader,
+        requestDto, response -> {
+          DataResponse<ResourceResponse> resourceResponse =
+              readResponse(response.body(), dataOfResourceReader);
 
-    return resourceResponse.data().irn();
+          return resourceResponse.data().irn();
+        });
   }
 
   @Override
   public void updateResource(
       HttpHeader header, IRN resourceIrn, UpdateResourceRequestDto updateDto) {
+    execute(updateResourceRequest(header, resourceIrn, updateDto));
+  }
+
+  @Override
+  public CompletableFuture<Void> updateResourceAsync(
+      HttpHeader header, IRN resourceIrn, UpdateResourceRequestDto updateDto) {
+    return executeAsync(updateResourceRequest(header, resourceIrn, updateDto));
+  }
+
+  private ServerRequest<Void> updateResourceRequest(
+      HttpHeader header, IRN resourceIrn, UpdateResourceRequestDto updateDto) {
     String path = RESOURCE_PATH + "/" + resourceIrn.toBase64();
-    executeRequest(path, PATCH, header, updateDto);
+    return new ServerRequest<>("updateResource", path, PATCH, header, updateDto,
+        response -> null);
   }
 
   @Override
   public void deleteResource(HttpHeader header, IRN resourceIrn) {
+    execute(deleteResourceRequest(header, resourceIrn));
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteResourceAsync(HttpHeader header, IRN resourceIrn) {
+    return executeAsync(deleteResourceRequest(header, resourceIrn));
+  }
+
+  private ServerRequest<Void> deleteResourceRequest(HttpHeader header, IRN resourceIrn) {
     String path = RESOURCE_PATH + "/" + resourceIrn.toBase64();
-    executeRequest(path, DELETE, header, null);
+    return new ServerRequest<>("deleteResource", path, DELETE, header, null, response -> null);
   }
 
   @Override
   public void deleteResources(HttpHeader header, DeleteResourcesRequestDto requestDto) {
-    executeRequest(RESOURCE_PATH + "/delete", POST, header, requestDto);
+    execute(deleteResourcesRequest(header, requestDto));
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteResourcesAsync(
+      HttpHeader header, DeleteResourcesRequestDto requestDto) {
+    return executeAsync(deleteResourcesRequest(header, requestDto));
+  }
+
+  private ServerRequest<Void> deleteResourcesRequest(
+      HttpHeader header, DeleteResourcesRequestDto requestDto) {
+    return new ServerRequest<>("deleteResources", RESOURCE_PATH + "/delete", POST, header,
+        requestDto, response -> null);
   }
 
   @Override
   public void createResourceType(
       HttpHeader header, IRN application, CreateResourceTypeRequestDto requestDto) {
+    execute(createResourceTypeRequest(header, application, requestDto));
+  }
+
+  @Override
+  public CompletableFuture<Void> createResourceTypeAsync(
+      HttpHeader header, IRN application, CreateResourceTypeRequestDto requestDto) {
+    return executeAsync(createResourceTypeRequest(header, application, requestDto));
+  }
+
+  private ServerRequest<Void> createResourceTypeRequest(
+      HttpHeader header, IRN application, CreateResourceTypeRequestDto requestDto) {
     String path = String.format(RESOURCE_TYPE_PATH_TEMPLATE, application.toBase64());
-    executeRequest(path, POST, header, requestDto);
+    return new ServerRequest<>("createResourceType", path, POST, header, requestDto,
+        response -> null);
   }
 
   @Override
   public List<ResourceTypeDto> getResourceTypes(HttpHeader header, IRN applicationIrn) {
+    try (Stream<ResourceTypeDto> resourceTypes = streamResourceTypes(header, applicationIrn)) {
+      return resourceTypes.toList();
+    }
+  }
+
+  @Override
+  public Stream<ResourceTypeDto> streamResourceTypes(HttpHeader header, IRN applicationIrn) {
+    return stream(page -> resourceTypesRequest(header, applicationIrn, page));
+  }
+
+  @Override
+  public CompletableFuture<List<ResourceTypeDto>> getResourceTypesAsync(
+      HttpHeader header, IRN applicationIrn) {
+    return collectAsync(page -> resourceTypesRequest(header, applicationIrn, page));
+  }
+
+  private ServerRequest<PageableResponse<ResourceTypeDto>> resourceTypesRequest(
+      HttpHeader header, IRN applicationIrn, int page) {
     String path =
-        RESOURCE_TYPE_PATH_TEMPLATE.formatted(applicationIrn.toBase64()) + "?pageSize=" + PAGE_SIZE;
+        RESOURCE_TYPE_PATH_TEMPLATE.formatted(applicationIrn.toBase64())
+            + "?page="
+            + page
+            + "&pageSize="
+            + pageSize;
 
-    PageableResponse<ResourceTypeDto> pageOfResourceTypes =
-        executeRequest(path, GET, header, null, new TypeReference<>() {});
+    return ServerRequest.coalesced(
+        "getResourceTypes",
+        path,
+        GET,
+        header,
+        null,
+        response -> readResponse(response.body(), pageOfResourceTypesReader));
+  }
 
-    return pageOfResourceTypes.data();
+  @Override
+  public ResourceTypesSnapshot getResourceTypesSnapshot(
+      HttpHeader header, IRN applicationIrn, ResourceTypesSnapshot previous) {
+    List<ValidatedPage<ResourceTypeDto>> pages = new ArrayList<>();
+    int page = PageIterator.FIRST_PAGE;
+    ValidatedPage<ResourceTypeDto> validatedPage;
+
+    do {
+      validatedPage = execute(
+          resourceTypesSnapshotPageRequest(header, applicationIrn, page, previous));
+      pages.add(validatedPage);
+    } while (!PageIterator.isLastPage(validatedPage.page(), page++, pageSize));
+
+    return snapshotOf(previous, pages);
+  }
+
+  @Override
+  public CompletableFuture<ResourceTypesSnapshot> getResourceTypesSnapshotAsync(
+      HttpHeader header, IRN applicationIrn, ResourceTypesSnapshot previous) {
+    return collectSnapshotPagesAsync(
+            header, applicationIrn, previous, PageIterator.FIRST_PAGE, new ArrayList<>())
+        .thenApply(pages -> snapshotOf(previous, pages));
+  }
+
+  private CompletableFuture<List<ValidatedPage<ResourceTypeDto>>> collectSnapshotPagesAsync(
+      HttpHeader header,
+      IRN applicationIrn,
+      ResourceTypesSnapshot previous,
+      int page,
+      List<ValidatedPage<ResourceTypeDto>> pages) {
+    return executeAsync(resourceTypesSnapshotPageRequest(header, applicationIrn, page, previous))
+        .thenCompose(validatedPage -> {
+          pages.add(validatedPage);
+
+          return PageIterator.isLastPage(validatedPage.page(), page, pageSize)
+              ? CompletableFuture.completedFuture(pages)
+              : collectSnapshotPagesAsync(header, applicationIrn, previous, page + 1, pages);
+        });
+  }
+
+  /**
+   * Requests a resource type page conditionally on the validators of the same page in the
+   * previous snapshot. A 304 response yields that previous page.
+   */
+  private ServerRequest<ValidatedPage<ResourceTypeDto>> resourceTypesSnapshotPageRequest(
+      HttpHeader header, IRN applicationIrn, int page, ResourceTypesSnapshot previous) {
+    ValidatedPage<ResourceTypeDto> previousPage =
+        previous != null && previous.pages().size() >= page
+            ? previous.pages().get(page - PageIterator.FIRST_PAGE)
+            : null;
+
+    Map<String, String> conditionalHeaders = new LinkedHashMap<>();
+    if (previousPage != null && previousPage.etag() != null) {
+      conditionalHeaders.put("If-None-Match", previousPage.etag());
+    }
+    if (previousPage != null && previousPage.lastModified() != null) {
+      conditionalHeaders.put("If-Modified-Since", previousPage.lastModified());
+    }
+
+    ServerRequest<PageableResponse<ResourceTypeDto>> pageRequest =
+        resourceTypesRequest(header, applicationIrn, page);
+
+    return new ServerRequest<>(pageRequest.operation(), pageRequest.path(), GET, header, null,
+        response -> {
+          if (response.statusCode() == HTTP_NOT_MODIFIED) {
+            return previousPage;
+          }
+
+          return new ValidatedPage<>(
+              pageRequest.responseProcessor().process(response),
+              response.headers().firstValue("ETag").orElse(null),
+              response.headers().firstValue("Last-Modified").orElse(null));
+        }, true, conditionalHeaders);
+  }
+
+  private static ResourceTypesSnapshot snapshotOf(
+      ResourceTypesSnapshot previous, List<ValidatedPage<ResourceTypeDto>> pages) {
+    if (previous != null && previous.pages().size() == pages.size()) {
+      boolean unchanged = true;
+      for (int i = 0; i < pages.size() && unchanged; i++) {
+        unchanged = pages.get(i) == previous.pages().get(i);
+      }
+
+      if (unchanged) {
+        return previous;
+      }
+    }
+
+    return new ResourceTypesSnapshot(pages);
   }
 
   @Override
   public Optional<String> getPrincipalApiKey(HttpHeader header, IRN principalIrn) {
+    return execute(principalApiKeyRequest(header, principalIrn));
+  }
+
+  @Override
+  public CompletableFuture<Optional<String>> getPrincipalApiKeyAsync(
+      HttpHeader header, IRN principalIrn) {
+    return executeAsync(principalApiKeyRequest(header, principalIrn));
+  }
+
+  private ServerRequest<Optional<String>> principalApiKeyRequest(
+      HttpHeader header, IRN principalIrn) {
     String path =
         API_KEY_PATH_TEMPLATE.formatted(principalIrn.toBase64()) + "?state=active&pageSize=1";
 
-    PageableResponse<ApiKeyResponse> pageOfApiKeys =
-        executeRequest(path, GET, header, null, new TypeReference<>() {});
+    return ServerRequest.coalesced("getPrincipalApiKey", path, GET, header, null, response -> {
+      PageableResponse<ApiKeyResponse> pageOfApiKeys =
+          readResponse(response.body(), pageOfApiKeysReader);
 
-    return pageOfApiKeys.data().stream().findFirst().map(ApiKeyResponse::apiKey);
+      return pageOfApiKeys.data().stream().findFirst().map(ApiKeyResponse::apiKey);
+    });
   }
 
   @Override
   public String createPrincipalApiKey(HttpHeader header, IRN principalIrn) {
+    return execute(createPrincipalApiKeyRequest(header, principalIrn));
+  }
+
+  @Override
+  public CompletableFuture<String> createPrincipalApiKeyAsync(
+      HttpHeader header, IRN principalIrn) {
+    return executeAsync(createPrincipalApiKeyRequest(header, principalIrn));
+  }
+
+  private ServerRequest<String> createPrincipalApiKeyRequest(HttpHeader header, IRN principalIrn) {
     String url = API_KEY_PATH_TEMPLATE.formatted(principalIrn.toBase64());
 
-    return executeRequest(url, POST, header, null, this::getIdFromLocationHeader);
+    return new ServerRequest<>("createPrincipalApiKey", url, POST, header, null,
+        this::getIdFromLocationHeader);
   }
 
-  private String getIdFromLocationHeader(HttpResponse<String> response) {
+  private String getIdFromLocationHeader(HttpResponse<InputStream> response) {
     Optional<String> location = response.headers().firstValue("Location");
     if (location.isEmpty()) {
       throw new IamcoreServerException(
@@ -204,13 +643,32 @@ public class ServerClientImpl implements ServerClient {
 
   @Override
   public List<PoolResponse> getPools(HttpHeader header, PoolsQueryFilter filter) {
+    try (Stream<PoolResponse> pools = streamPools(header, filter)) {
+      return pools.toList();
+    }
+  }
+
+  @Override
+  public Stream<PoolResponse> streamPools(HttpHeader header, PoolsQueryFilter filter) {
+    return stream(page -> poolsRequest(header, filter, page));
+  }
+
+  @Override
+  public CompletableFuture<List<PoolResponse>> getPoolsAsync(
+      HttpHeader header, PoolsQueryFilter filter) {
+    return collectAsync(page -> poolsRequest(header, filter, page));
+  }
+
+  private ServerRequest<PageableResponse<PoolResponse>> poolsRequest(
+      HttpHeader header, PoolsQueryFilter filter, int page) {
     String poolIrn = filter.irn() == null ? "" : filter.irn().toString();
     String poolName = filter.name() == null ? "" : filter.name();
     String resourceIrn = filter.resourceIrn() == null ? "" : filter.resourceIrn().toString();
 
     Map<String, String> queryParams =
         Map.of(
-            "pageSize", String.valueOf(PAGE_SIZE),
+            "page", String.valueOf(page),
+            "pageSize", String.valueOf(pageSize),
             "irn", poolIrn,
             "name", poolName,
             "resourceIRN", resourceIrn);
@@ -218,10 +676,22 @@ public class ServerClientImpl implements ServerClient {
     String rawQuery = buildRawQuery(queryParams);
     String path = POOLS_PATH + "?" + rawQuery;
 
-    PageableResponse<PoolResponse> pageOfPools =
-        executeRequest(path, GET, header, null, new TypeReference<>() {});
+    return ServerRequest.coalesced("getPools", path, GET, header, null,
+        response -> readResponse(response.body(), pageOfPoolsReader));
+  }
+
+  private <T> Stream<T> stream(IntFunction<ServerRequest<PageableResponse<T>>> pageRequest) {
+    IntFunction<CompletableFuture<PageableResponse<T>>> pageFetcher =
+        pagePrefetchEnabled
+            ? page -> executeAsync(pageRequest.apply(page))
+            : page -> CompletableFuture.completedFuture(execute(pageRequest.apply(page)));
 
-    return pageOfPools.data();
+    return PageIterator.stream(pageFetcher, pageSize, pagePrefetchEnabled);
+  }
+
+  private <T> CompletableFuture<List<T>> collectAsync(
+      IntFunction<ServerRequest<PageableResponse<T>>> pageRequest) {
+    return PageIterator.collectAsync(page -> executeAsync(pageRequest.apply(page)), pageSize);
   }
 
   private String buildRawQuery(Map<String, String> queryParams) {
@@ -236,39 +706,66 @@ public class ServerClientImpl implements ServerClient {
     return entry.getKey() + "=" + encodedValue;
   }
 
-  private HttpResponse<String> sendRequest(
-      String path, HttpMethod method, HttpHeader header, Object body) {
+  private byte[] serializeBody(Object body) {
+    if (body == null) {
+      return null;
+    }
+
     try {
-      URI requestUri = serverUrl.resolve(path);
+      return writers
+          .computeIfAbsent(body.getClass(), objectMapper::writerFor)
+          .writeValueAsBytes(body);
+    } catch (IOException ex) {
+      throw new SdkException("Failed to serialize request body: " + ex.getMessage());
+    }
+  }
 
-      HttpRequest.Builder requestBuilder = HttpRequest.newBuilder().uri(requestUri);
+  private HttpRequest buildRequest(ServerRequest<?> request, byte[] jsonBody) {
+    String path = request.path();
+    HttpMethod method = request.method();
+    HttpHeader header = request.header();
+    URI requestUri = serverUrl.resolve(path);
 
-      if (header != null) {
-        requestBuilder.header(header.getName(), header.getValue());
-      }
+    HttpRequest.Builder requestBuilder = HttpRequest.newBuilder().uri(requestUri);
 
-      if (body != null) {
-        String jsonBody = objectMapper.writeValueAsString(body);
-        HttpRequest.BodyPublisher bodyPublisher = HttpRequest.BodyPublishers.ofString(jsonBody);
-
-        switch (method) {
-          case POST -> requestBuilder.POST(bodyPublisher);
-          case PUT -> requestBuilder.PUT(bodyPublisher);
-          case PATCH -> requestBuilder.method("PATCH", bodyPublisher);
-          default -> throw new SdkException("Unsupported HTTP method with body: " + method);
-        }
-        requestBuilder.header("Content-Type", "application/json");
-      } else {
-        switch (method) {
-          case GET -> requestBuilder.GET();
-          case DELETE -> requestBuilder.DELETE();
-          case POST -> requestBuilder.POST(HttpRequest.BodyPublishers.noBody());
-          default -> requestBuilder.method(method.name(), HttpRequest.BodyPublishers.noBody());
-        }
+    if (requestTimeout != null) {
+      requestBuilder.timeout(requestTimeout);
+    }
+
+    if (header != null) {
+      requestBuilder.header(header.getName(), header.getValue());
+    }
+
+    request.conditionalHeaders().forEach(requestBuilder::header);
+
+    if (jsonBody != null) {
+      HttpRequest.BodyPublisher bodyPublisher = HttpRequest.BodyPublishers.ofByteArray(jsonBody);
+
+      switch (method) {
+        case POST -> requestBuilder.POST(bodyPublisher);
+        case PUT -> requestBuilder.PUT(bodyPublisher);
+        case PATCH -> requestBuilder.method("PATCH", bodyPublisher);
+        default -> throw new SdkException("Unsupported HTTP method with body: " + method);
       }
+      requestBuilder.header("Content-Type", "application/json");
+    } else {
+      switch (method) {
+        case GET -> requestBuilder.GET();
+        case DELETE -> requestBuilder.DELETE();
+        case POST -> requestBuilder.POST(HttpRequest.BodyPublishers.noBody());
+        default -> requestBuilder.method(method.name(), HttpRequest.BodyPublishers.noBody());
+      }
+    }
 
-      HttpRequest request = requestBuilder.build();
-      return httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    return requestBuilder.build();
+  }
+
+  private HttpResponse<InputStream> sendRequest(ServerRequest<?> serverRequest, byte[] jsonBody) {
+    String path = serverRequest.path();
+    HttpRequest request = buildRequest(serverRequest, jsonBody);
+
+    try {
+      return httpClient.send(request, bodyHandler);
     } catch (InterruptedException ex) {
       Thread.currentThread().interrupt();
 
@@ -276,41 +773,260 @@ public class ServerClientImpl implements ServerClient {
           "Interrupted while waiting for response from " + path + ": " + ex.getMessage());
     } catch (IOException ex) {
       throw new SdkException(
-          "Network or I/O error during request to " + path + ": " + ex.getMessage());
+          "Network or I/O error during request to " + path + ": " + ex.getMessage(), ex);
     }
   }
 
-  private void executeRequest(
-      String path, HttpMethod method, HttpHeader header, Object requestBody) {
-    executeRequest(path, method, header, requestBody, response -> null);
+  private CompletableFuture<HttpResponse<InputStream>> sendRequestAsync(
+      ServerRequest<?> serverRequest, byte[] jsonBody) {
+    String path = serverRequest.path();
+    HttpRequest request = buildRequest(serverRequest, jsonBody);
+
+    return httpClient
+        .sendAsync(request, asyncBodyHandler)
+        .exceptionallyCompose(ex -> CompletableFuture.failedFuture(toSdkException(path, ex)));
   }
 
-  private <T> T executeRequest(
-      String path, HttpMethod method, HttpHeader header, Object requestBody, TypeReference<T> ref) {
-    return executeRequest(
-        path, method, header, requestBody, response -> readResponse(response.body(), ref));
+  /**
+   * Async responses are buffered before they are parsed: reading a streamed body blocks until its
+   * bytes arrive, which would hold a thread of the HTTP client executor for every response.
+   */
+  private InputStream bufferedBody(byte[] body) {
+    InputStream bodyStream = new ByteArrayInputStream(body);
+
+    return metricsRecorder == null ? bodyStream : new CountingInputStream(bodyStream);
   }
 
-  private <T> T executeRequest(
-      String path,
-      HttpMethod method,
-      HttpHeader header,
-      Object requestBody,
-      ResponseProcessor<T> responseProcessor) {
+  private <T> T await(CompletableFuture<T> future, String path) {
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+
+      throw new SdkException(
+          "Interrupted while waiting for response from " + path + ": " + ex.getMessage());
+    } catch (ExecutionException ex) {
+      throw toSdkException(path, ex.getCause());
+    }
+  }
+
+  private RuntimeException toSdkException(String path, Throwable ex) {
+    Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+        ? ex.getCause()
+        : ex;
+
+    if (cause instanceof IamcoreServerException || cause instanceof SdkException) {
+      return (RuntimeException) cause;
+    }
+
+    return new SdkException(
+        "Network or I/O error during request to " + path + ": " + cause.getMessage(), cause);
+  }
+
+  private <T> T execute(ServerRequest<T> request) {
+    byte[] jsonBody = serializeBody(request.body());
+
+    if (inFlightRequests != null && request.coalesced()) {
+      return this.<T>inFlightRequests()
+          .execute(requestKey(request, jsonBody), () -> send(request, jsonBody));
+    }
+
+    return send(request, jsonBody);
+  }
+
+  private <T> T send(ServerRequest<T> request, byte[] jsonBody) {
+    CircuitBreaker circuitBreaker = circuitBreaker(request);
+
+    if (metricsRecorder == null && circuitBreaker == null) {
+      return processResponse(request, sendRequest(request, jsonBody));
+    }
+
+    if (circuitBreaker != null) {
+      circuitBreaker.acquire();
+    }
+
+    long startNanos = System.nanoTime();
+    HttpResponse<InputStream> response = null;
+    Throwable failure = null;
+
+    try {
+      response = sendRequest(request, jsonBody);
+
+      return processResponse(request, response);
+    } catch (RuntimeException ex) {
+      failure = ex;
+
+      throw ex;
+    } finally {
+      completeExchange(request, jsonBody, response, failure, startNanos, circuitBreaker);
+    }
+  }
+
+  private <T> CompletableFuture<T> executeAsync(ServerRequest<T> request) {
     try {
-      HttpResponse<String> response = sendRequest(path, method, header, requestBody);
+      byte[] jsonBody = serializeBody(request.body());
+
+      if (inFlightRequests != null && request.coalesced()) {
+        return this.<T>inFlightRequests()
+            .executeAsync(requestKey(request, jsonBody), () -> sendAsync(request, jsonBody));
+      }
+
+      return sendAsync(request, jsonBody);
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  private <T> CompletableFuture<T> sendAsync(ServerRequest<T> request, byte[] jsonBody) {
+    CircuitBreaker circuitBreaker = circuitBreaker(request);
+
+    if (circuitBreaker != null) {
+      try {
+        circuitBreaker.acquire();
+      } catch (CircuitBreakerOpenException ex) {
+        return CompletableFuture.failedFuture(ex);
+      }
+    }
+
+    long startNanos = System.nanoTime();
+    CompletableFuture<HttpResponse<InputStream>> responseFuture;
+    try {
+      responseFuture = sendRequestAsync(request, jsonBody);
+    } catch (RuntimeException ex) {
+      completeExchange(request, jsonBody, null, ex, startNanos, circuitBreaker);
+
+      return CompletableFuture.failedFuture(ex);
+    }
+
+    CompletableFuture<T> resultFuture =
+        responseFuture.thenApply(response -> processResponse(request, response));
+
+    if (metricsRecorder == null && circuitBreaker == null) {
+      return resultFuture;
+    }
+
+    return resultFuture.whenComplete((result, ex) -> completeExchange(request, jsonBody,
+        responseFuture.isCompletedExceptionally() ? null : responseFuture.join(),
+        ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex,
+        startNanos, circuitBreaker));
+  }
+
+  private CircuitBreaker circuitBreaker(ServerRequest<?> request) {
+    return circuitBreakers == null
+        ? null
+        : circuitBreakers.get(EndpointGroup.of(request.operation()));
+  }
+
+  /**
+   * Reports the outcome of an exchange to the circuit breaker and the metrics recorder.
+   */
+  private void completeExchange(ServerRequest<?> request, byte[] jsonBody,
+      HttpResponse<InputStream> response, Throwable failure, long startNanos,
+      CircuitBreaker circuitBreaker) {
+    long durationNanos = System.nanoTime() - startNanos;
+
+    if (circuitBreaker != null) {
+      if (failure == null || isServerResponse(failure)) {
+        circuitBreaker.record(durationNanos, isServerDegradation(failure));
+      } else if (isServerDegradation(failure)) {
+        circuitBreaker.record(durationNanos, true);
+      } else {
+        circuitBreaker.release();
+      }
+    }
+
+    if (metricsRecorder != null) {
+      recordExchange(request, jsonBody, response, failure != null, durationNanos);
+    }
+  }
+
+  private static boolean isServerResponse(Throwable failure) {
+    return failure instanceof IamcoreServerException;
+  }
+
+  /**
+   * Only 5xx, 408 and 429 responses, I/O errors and timeouts count towards opening a circuit
+   * breaker. Client errors such as an unauthorized principal or a missing resource, and failures
+   * to build a request or parse a response, say nothing about the health of the server.
+   */
+  private static boolean isServerDegradation(Throwable failure) {
+    if (failure instanceof IamcoreServerException serverException) {
+      int statusCode = serverException.getStatusCode();
+
+      return statusCode >= 500 || statusCode == 408 || statusCode == 429;
+    }
+
+    Throwable cause = failure == null ? null : failure.getCause();
+
+    return failure instanceof SdkException
+        && cause instanceof IOException
+        && !(cause instanceof JsonProcessingException);
+  }
+
+  /**
+   * Reports the exchange to the metrics recorder. The response body has been consumed and closed
+   * by then, so its byte count is final.
+   */
+  private void recordExchange(ServerRequest<?> request, byte[] jsonBody,
+      HttpResponse<InputStream> response, boolean failed, long durationNanos) {
+    long responseBytes =
+        response != null && response.body() instanceof CountingInputStream countingBody
+            ? countingBody.getCount()
+            : 0;
+
+    try {
+      metricsRecorder.record(new RequestSample(
+          request.operation(),
+          response == null ? 0 : response.statusCode(),
+          failed,
+          durationNanos,
+          jsonBody == null ? 0 : jsonBody.length,
+          responseBytes));
+    } catch (RuntimeException ignored) {
+      // A faulty recorder must not fail the request it measures.
+    }
+  }
+
+  /**
+   * Identical request keys always describe the same operation, so they yield the same type.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> SingleFlight<RequestKey, T> inFlightRequests() {
+    return (SingleFlight<RequestKey, T>) inFlightRequests;
+  }
+
+  private RequestKey requestKey(ServerRequest<?> request, byte[] jsonBody) {
+    return new RequestKey(
+        request.method(),
+        request.path(),
+        HeaderDigest.of(request.header()),
+        request.conditionalHeaders(),
+        jsonBody == null ? null : ByteBuffer.wrap(jsonBody));
+  }
+
+  /**
+   * Parses the response straight from the body stream, which is always closed afterwards so that
+   * the connection can be reused.
+   */
+  private <T> T processResponse(ServerRequest<T> request, HttpResponse<InputStream> response) {
+    try (InputStream ignored = response.body()) {
       int responseCode = response.statusCode();
 
-      if (responseCode >= 200 && responseCode < 300) {
-        return responseProcessor.process(response);
+      boolean notModified =
+          responseCode == HTTP_NOT_MODIFIED && !request.conditionalHeaders().isEmpty();
+
+      if ((responseCode >= 200 && responseCode < 300) || notModified) {
+        return request.responseProcessor().process(response);
       } else {
-        String errorMessage = parseErrorResponse(response.body());
+        String responseBody = new String(response.body().readAllBytes(), StandardCharsets.UTF_8);
+        String errorMessage = parseErrorResponse(responseBody);
         throw new IamcoreServerException(
             "Server error (Status " + responseCode + "): " + errorMessage, responseCode);
       }
     } catch (IOException ex) {
       throw new SdkException(
-          "Network or I/O error during request to " + path + ": " + ex.getMessage());
+          "Network or I/O error during request to " + request.path() + ": " + ex.getMessage(),
+          ex);
     }
   }
 
@@ -320,7 +1036,7 @@ public class ServerClientImpl implements ServerClient {
         return "No error response body available.";
       }
 
-      Map<String, String> errorResponse = readResponse(responseBody, new TypeReference<>() {});
+      Map<String, String> errorResponse = readResponse(responseBody, errorResponseReader);
 
       return errorResponse.getOrDefault("message", "Unknown server error.");
     } catch (SdkException ex) {
@@ -328,17 +1044,61 @@ public class ServerClientImpl implements ServerClient {
     }
   }
 
-  private <T> T readResponse(String responseBody, TypeReference<T> ref) {
+  private <T> T readResponse(InputStream responseBody, ObjectReader reader) {
     try {
-      return objectMapper.readValue(responseBody, ref);
+      return reader.readValue(responseBody);
+    } catch (IOException ex) {
+      throw new SdkException("Failed to read or parse response: " + ex.getMessage(), ex);
+    }
+  }
+
+  private <T> T readResponse(String responseBody, ObjectReader reader) {
+    try {
+      return reader.readValue(responseBody);
     } catch (IOException ex) {
       throw new SdkException("Failed to read or parse response: " + ex.getMessage());
     }
   }
 
+  /**
+   * Describes a single server operation. Coalesced requests have no side effects, so identical
+   * ones in flight at the same time may share one HTTP exchange and its parsed result. Requests
+   * with conditional headers also pass a 304 response to their processor.
+   *
+   * @param operation the logical operation the request belongs to, used to tag metrics.
+   */
+  private record ServerRequest<T>(
+      String operation,
+      String path,
+      HttpMethod method,
+      HttpHeader header,
+      Object body,
+      ResponseProcessor<T> responseProcessor,
+      boolean coalesced,
+      Map<String, String> conditionalHeaders) {
+
+    ServerRequest(String operation, String path, HttpMethod method, HttpHeader header,
+        Object body, ResponseProcessor<T> responseProcessor) {
+      this(operation, path, method, header, body, responseProcessor, false, Map.of());
+    }
+
+    static <T> ServerRequest<T> coalesced(String operation, String path, HttpMethod method,
+        HttpHeader header, Object body, ResponseProcessor<T> responseProcessor) {
+      return new ServerRequest<>(operation, path, method, header, body, responseProcessor, true,
+          Map.of());
+    }
+  }
+
+  private record RequestKey(
+      HttpMethod method,
+      String path,
+      String principal,
+      Map<String, String> conditionalHeaders,
+      ByteBuffer body) {}
+
   @FunctionalInterface
   private interface ResponseProcessor<T> {
-    T process(HttpResponse<String> response) throws IOException;
+    T process(HttpResponse<InputStream> response) throws IOException;
   }
 
   enum HttpMethod {
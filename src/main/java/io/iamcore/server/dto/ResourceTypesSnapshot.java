@@ -0,0 +1,20 @@
+package io.iamcore.server.dto;
+
+import java.util.List;
+
+/**
+ * Resource types of an application as fetched page by page, kept with their validators so that
+ * a refresh can reuse the pages the server reports as not modified.
+ */
+public record ResourceTypesSnapshot(List<ValidatedPage<ResourceTypeDto>> pages) {
+
+  public ResourceTypesSnapshot {
+    pages = List.copyOf(pages);
+  }
+
+  public List<ResourceTypeDto> resourceTypes() {
+    return pages.stream()
+        .flatMap(validatedPage -> validatedPage.page().data().stream())
+        .toList();
+  }
+}
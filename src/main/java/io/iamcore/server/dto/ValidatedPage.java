@@ -0,0 +1,15 @@
+package io.iamcore.server.dto;
+
+/**
+ * Page of a listing together with the validators the server sent for it, used to ask for the
+ * page again only if it has changed.
+ *
+ * @param etag the {@code ETag} response header, or {@code null}.
+ * @param lastModified the {@code Last-Modified} response header, or {@code null}.
+ */
+public record ValidatedPage<T>(PageableResponse<T> page, String etag, String lastModified) {
+
+  public boolean hasValidators() {
+    return etag != null || lastModified != null;
+  }
+}
@@ -0,0 +1,60 @@
+package io.iamcore.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import io.iamcore.IRN;
+import java.util.Set;
+
+/**
+ * Resource write recorded in the write-behind journal, to be applied to iamcore later.
+ *
+ * @param sequence the journal position; assigned when the intent is appended.
+ * @param poolIds the pools to create the resource in or to assign it to; unused for deletes.
+ */
+@JsonInclude(Include.NON_NULL)
+public record ResourceIntent(
+    long sequence,
+    Type type,
+    String accountId,
+    String application,
+    String tenantId,
+    String resourceType,
+    String resourcePath,
+    String resourceId,
+    Set<String> poolIds) {
+
+  public static ResourceIntent create(String accountId, String application, String tenantId,
+      String resourceType, String resourcePath, String resourceId, Set<String> poolIds) {
+    return new ResourceIntent(0, Type.CREATE, accountId, application, tenantId, resourceType,
+        resourcePath, resourceId, poolIds);
+  }
+
+  public static ResourceIntent update(String accountId, String application, String tenantId,
+      String resourceType, String resourcePath, String resourceId, Set<String> poolIds) {
+    return new ResourceIntent(0, Type.UPDATE, accountId, application, tenantId, resourceType,
+        resourcePath, resourceId, poolIds);
+  }
+
+  public static ResourceIntent delete(String accountId, String application, String tenantId,
+      String resourceType, String resourcePath, String resourceId) {
+    return new ResourceIntent(0, Type.DELETE, accountId, application, tenantId, resourceType,
+        resourcePath, resourceId, null);
+  }
+
+  ResourceIntent withSequence(long sequence) {
+    return new ResourceIntent(sequence, type, accountId, application, tenantId, resourceType,
+        resourcePath, resourceId, poolIds);
+  }
+
+  @JsonIgnore
+  public IRN getResourceIrn() {
+    return IRN.of(accountId, application, tenantId, null, resourceType, resourcePath, resourceId);
+  }
+
+  public enum Type {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+}
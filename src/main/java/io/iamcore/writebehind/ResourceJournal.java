@@ -0,0 +1,238 @@
+package io.iamcore.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.iamcore.exception.SdkException;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of resource intents, one JSON document per line. Every append is forced to
+ * disk before it returns. A separate checkpoint file records the sequence up to which intents
+ * were applied; once everything is applied and the journal has grown large it is truncated. The
+ * journal is locked while open, so only one queue at a time, in any process, can drain it.
+ */
+class ResourceJournal implements Closeable {
+
+  private static final long COMPACTION_THRESHOLD_BYTES = 16L * 1024 * 1024;
+
+  private final Path journalPath;
+  private final Path checkpointPath;
+  private final Path deadLetterPath;
+  private final ObjectWriter intentWriter;
+  private final ObjectWriter deadLetterWriter;
+  private final ObjectReader intentReader;
+  private final FileChannel channel;
+  private final List<ResourceIntent> pendingAtOpen;
+  private long lastSequence;
+  private long checkpoint;
+
+  ResourceJournal(Path journalPath, ObjectMapper objectMapper) {
+    this.journalPath = journalPath;
+    this.checkpointPath = journalPath.resolveSibling(journalPath.getFileName() + ".checkpoint");
+    this.deadLetterPath = journalPath.resolveSibling(journalPath.getFileName() + ".failed");
+    this.intentWriter = objectMapper.writerFor(ResourceIntent.class);
+    this.deadLetterWriter = objectMapper.writerFor(DeadLetter.class);
+    this.intentReader = objectMapper.readerFor(ResourceIntent.class);
+
+    try {
+      Path parent = journalPath.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+
+      this.channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+    } catch (IOException ex) {
+      throw new SdkException("Failed to open write-behind journal " + journalPath + ": "
+          + ex.getMessage());
+    }
+
+    try {
+      lock(journalPath);
+      this.checkpoint = readCheckpoint();
+      discardTornTail();
+      this.pendingAtOpen = replay();
+    } catch (IOException | RuntimeException ex) {
+      closeQuietly();
+
+      if (ex instanceof SdkException sdkException) {
+        throw sdkException;
+      }
+
+      throw new SdkException("Failed to open write-behind journal " + journalPath + ": "
+          + ex.getMessage());
+    }
+  }
+
+  /**
+   * Returns the intents that were journaled but not checkpointed before the journal was opened.
+   */
+  List<ResourceIntent> getPendingAtOpen() {
+    return pendingAtOpen;
+  }
+
+  synchronized ResourceIntent append(ResourceIntent intent) {
+    ResourceIntent sequenced = intent.withSequence(lastSequence + 1);
+
+    try {
+      channel.position(channel.size());
+      appendLine(channel, intentWriter.writeValueAsBytes(sequenced));
+      channel.force(false);
+    } catch (IOException ex) {
+      throw new SdkException("Failed to append to write-behind journal: " + ex.getMessage());
+    }
+
+    lastSequence = sequenced.sequence();
+
+    return sequenced;
+  }
+
+  /**
+   * Records that every intent up to and including the sequence has been applied.
+   */
+  synchronized void checkpoint(long sequence) {
+    if (sequence <= checkpoint) {
+      return;
+    }
+
+    try {
+      Path tempPath = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+      Files.writeString(tempPath, Long.toString(sequence), StandardCharsets.UTF_8);
+      Files.move(tempPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      checkpoint = sequence;
+
+      if (checkpoint == lastSequence && channel.size() > COMPACTION_THRESHOLD_BYTES) {
+        channel.truncate(0);
+        channel.force(true);
+      }
+    } catch (IOException ex) {
+      throw new SdkException("Failed to checkpoint write-behind journal: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Keeps an intent that can never be applied, together with the reason, next to the journal.
+   */
+  synchronized void deadLetter(ResourceIntent intent, RuntimeException error) {
+    try (FileChannel deadLetters = FileChannel.open(deadLetterPath, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      appendLine(deadLetters,
+          deadLetterWriter.writeValueAsBytes(new DeadLetter(intent, error.getMessage())));
+      deadLetters.force(false);
+    } catch (IOException ex) {
+      throw new SdkException("Failed to record failed write-behind intent: " + ex.getMessage());
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      throw new SdkException("Failed to close write-behind journal: " + ex.getMessage());
+    }
+  }
+
+  private void lock(Path journalPath) throws IOException {
+    FileLock lock;
+    try {
+      lock = channel.tryLock();
+    } catch (OverlappingFileLockException ex) {
+      lock = null;
+    }
+
+    if (lock == null) {
+      throw new SdkException("Write-behind journal " + journalPath
+          + " is already in use by another client");
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // The open failure is the one worth reporting.
+    }
+  }
+
+  private static void appendLine(FileChannel target, byte[] line) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+
+    while (buffer.hasRemaining()) {
+      target.write(buffer);
+    }
+  }
+
+  private long readCheckpoint() throws IOException {
+    if (!Files.exists(checkpointPath)) {
+      return 0;
+    }
+
+    String value = Files.readString(checkpointPath, StandardCharsets.UTF_8).trim();
+
+    return value.isEmpty() ? 0 : Long.parseLong(value);
+  }
+
+  /**
+   * Drops a partially written last line left behind by a crash, so that new appends start on a
+   * fresh line.
+   */
+  private void discardTornTail() throws IOException {
+    long size = channel.size();
+    long position = size;
+    ByteBuffer buffer = ByteBuffer.allocate(1);
+
+    while (position > 0) {
+      buffer.clear();
+      channel.read(buffer, position - 1);
+      if (buffer.get(0) == '\n') {
+        break;
+      }
+      position--;
+    }
+
+    if (position < size) {
+      channel.truncate(position);
+    }
+  }
+
+  private List<ResourceIntent> replay() throws IOException {
+    List<ResourceIntent> pending = new ArrayList<>();
+    lastSequence = checkpoint;
+
+    try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+
+        ResourceIntent intent = intentReader.readValue(line);
+        lastSequence = Math.max(lastSequence, intent.sequence());
+
+        if (intent.sequence() > checkpoint) {
+          pending.add(intent);
+        }
+      }
+    }
+
+    return pending;
+  }
+
+  record DeadLetter(ResourceIntent intent, String error) {}
+}
@@ -0,0 +1,346 @@
+package io.iamcore.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.iamcore.BulkResult;
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.ParallelExecution;
+import io.iamcore.exception.CircuitBreakerOpenException;
+import io.iamcore.exception.IamcoreServerException;
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.AsyncServerClient;
+import io.iamcore.server.dto.CreateResourceRequestDto;
+import io.iamcore.server.dto.DeleteResourcesRequestDto;
+import io.iamcore.server.dto.UpdateResourceRequestDto;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies resource writes to iamcore in the background. Intents are journaled durably before
+ * {@link #enqueue} returns and drained in batches on a daemon thread, deletes of a batch in one
+ * request and the other writes concurrently. Transient failures are retried with exponential
+ * backoff; intents that can never succeed are moved to a {@code .failed} file next to the
+ * journal. Intents not yet applied when the process stopped are replayed on the next start, so
+ * every intent is applied at least once; a replayed or retried intent that turns out to be
+ * applied already, a create answered with 409 or a delete with 404, counts as applied.
+ */
+public class WriteBehindQueue implements Closeable {
+
+  private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(1);
+
+  private final ResourceJournal journal;
+  private final AsyncServerClient serverClient;
+  private final HttpHeader header;
+  private final int batchSize;
+  private final int parallelism;
+  private final Duration retryBackoff;
+  private final Deque<ResourceIntent> pending = new ArrayDeque<>();
+  private final ScheduledExecutorService drainExecutor;
+  private final long replayedThrough;
+  private final Set<Long> retried = new HashSet<>();
+  private final AtomicLong drainFailureCount = new AtomicLong();
+  private volatile RuntimeException lastDrainFailure;
+  private Duration currentBackoff;
+  private long retryAtNanos;
+
+  /**
+   * Opens the journal and starts draining it, beginning with intents left over from a previous
+   * run.
+   *
+   * @param header the header the intents are applied with, typically the application API key.
+   */
+  public WriteBehindQueue(Path journalPath, ObjectMapper objectMapper,
+      AsyncServerClient serverClient, HttpHeader header, int batchSize, int parallelism,
+      Duration drainInterval, Duration retryBackoff) {
+    this.journal = new ResourceJournal(journalPath, objectMapper);
+    this.serverClient = serverClient;
+    this.header = header;
+    this.batchSize = batchSize;
+    this.parallelism = parallelism;
+    this.retryBackoff = retryBackoff;
+    this.currentBackoff = retryBackoff;
+    this.pending.addAll(journal.getPendingAtOpen());
+    this.replayedThrough = pending.isEmpty() ? 0 : pending.getLast().sequence();
+
+    this.drainExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "iamcore-write-behind");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    long intervalMillis = drainInterval.toMillis();
+    drainExecutor.scheduleWithFixedDelay(this::drain, 0, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public ResourceIntent enqueue(ResourceIntent intent) {
+    synchronized (pending) {
+      ResourceIntent journaled = journal.append(intent);
+      pending.addLast(journaled);
+
+      return journaled;
+    }
+  }
+
+  public int size() {
+    synchronized (pending) {
+      return pending.size();
+    }
+  }
+
+  /**
+   * Returns how many drain attempts failed unexpectedly, for instance because the journal could
+   * not be written. The affected batch is retried after the backoff.
+   */
+  public long getDrainFailureCount() {
+    return drainFailureCount.get();
+  }
+
+  public Optional<RuntimeException> getLastDrainFailure() {
+    return Optional.ofNullable(lastDrainFailure);
+  }
+
+  /**
+   * Waits until every enqueued intent has been applied or moved to the failed file.
+   *
+   * @return whether the queue drained before the timeout.
+   */
+  public boolean awaitDrained(Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+
+    synchronized (pending) {
+      while (!pending.isEmpty()) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMillis <= 0) {
+          return false;
+        }
+
+        pending.wait(remainingMillis);
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Stops draining. Intents still pending stay in the journal and are replayed on the next start.
+   */
+  @Override
+  public void close() {
+    drainExecutor.shutdownNow();
+
+    try {
+      drainExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } finally {
+      journal.close();
+    }
+  }
+
+  private void drain() {
+    try {
+      while (System.nanoTime() - retryAtNanos >= 0) {
+        List<ResourceIntent> batch = nextBatch();
+        if (batch.isEmpty()) {
+          return;
+        }
+
+        List<ResourceIntent> retries = apply(batch);
+        complete(batch, retries);
+
+        if (!retries.isEmpty()) {
+          retryAtNanos = System.nanoTime() + currentBackoff.toNanos();
+          currentBackoff = min(currentBackoff.multipliedBy(2), MAX_RETRY_BACKOFF);
+          return;
+        }
+
+        currentBackoff = retryBackoff;
+      }
+    } catch (RuntimeException ex) {
+      drainFailureCount.incrementAndGet();
+      lastDrainFailure = ex;
+      retryAtNanos = System.nanoTime() + currentBackoff.toNanos();
+    }
+  }
+
+  /**
+   * Takes intents from the head of the queue, stopping before a second intent for the same
+   * resource so that writes to one resource are never reordered.
+   */
+  private List<ResourceIntent> nextBatch() {
+    synchronized (pending) {
+      List<ResourceIntent> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+      Set<ResourceKey> resources = new HashSet<>();
+
+      for (ResourceIntent intent : pending) {
+        if (batch.size() >= batchSize || !resources.add(ResourceKey.of(intent))) {
+          break;
+        }
+
+        batch.add(intent);
+      }
+
+      return batch;
+    }
+  }
+
+  /**
+   * Applies the batch and returns the intents that failed transiently.
+   */
+  private List<ResourceIntent> apply(List<ResourceIntent> batch) {
+    List<ResourceIntent> deletes = new ArrayList<>();
+    List<ResourceIntent> writes = new ArrayList<>();
+    batch.forEach(intent -> (intent.type() == ResourceIntent.Type.DELETE ? deletes : writes)
+        .add(intent));
+
+    List<ResourceIntent> retries = new ArrayList<>();
+    List<ResourceIntent> individually = new ArrayList<>(writes);
+
+    if (!deletes.isEmpty()) {
+      List<IRN> irns = deletes.stream().map(ResourceIntent::getResourceIrn).toList();
+      BulkResult<Void> result = serverClient
+          .deleteResourcesAsync(header, new DeleteResourcesRequestDto(irns))
+          .handle((ignored, ex) -> ex == null ? BulkResult.<Void>success(null)
+              : BulkResult.<Void>failure(ex))
+          .join();
+
+      if (!result.isSuccess()) {
+        if (isTransient(result.error())) {
+          retries.addAll(deletes);
+        } else {
+          individually.addAll(deletes);
+        }
+      }
+    }
+
+    List<BulkResult<Void>> results = ParallelExecution.mapEachAsync(individually, parallelism,
+        this::applyOne).join();
+
+    for (int i = 0; i < individually.size(); i++) {
+      ResourceIntent intent = individually.get(i);
+      RuntimeException error = results.get(i).error();
+
+      if (error == null || (mayBeApplied(intent) && isAlreadyApplied(intent, error))) {
+        continue;
+      }
+
+      if (isTransient(error)) {
+        retries.add(intent);
+      } else {
+        journal.deadLetter(intent, error);
+      }
+    }
+
+    return retries;
+  }
+
+  private CompletableFuture<Void> applyOne(ResourceIntent intent) {
+    return switch (intent.type()) {
+      case CREATE -> serverClient.createResourceAsync(header, new CreateResourceRequestDto(
+              intent.application(), intent.tenantId(), intent.resourceType(),
+              intent.resourcePath(), intent.resourceId(), true, intent.poolIds()))
+          .thenApply(ignored -> null);
+      case UPDATE -> serverClient.updateResourceAsync(header, intent.getResourceIrn(),
+          new UpdateResourceRequestDto(intent.poolIds()));
+      case DELETE -> serverClient.deleteResourceAsync(header, intent.getResourceIrn());
+    };
+  }
+
+  /**
+   * Removes the applied and failed intents of the batch and checkpoints the journal up to the
+   * first intent that is still pending.
+   */
+  private void complete(List<ResourceIntent> batch, List<ResourceIntent> retries) {
+    synchronized (pending) {
+      Set<Long> retriedInBatch = new HashSet<>();
+      retries.forEach(intent -> retriedInBatch.add(intent.sequence()));
+      batch.forEach(intent -> retried.remove(intent.sequence()));
+      retried.addAll(retriedInBatch);
+      pending.removeIf(intent -> intent.sequence() <= batch.getLast().sequence()
+          && !retriedInBatch.contains(intent.sequence()));
+
+      long appliedThrough = pending.isEmpty()
+          ? batch.getLast().sequence()
+          : pending.peekFirst().sequence() - 1;
+      journal.checkpoint(appliedThrough);
+
+      if (pending.isEmpty()) {
+        pending.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Whether an earlier attempt may have reached the server: the intent was replayed from a
+   * previous run or failed transiently before. A first attempt that conflicts is a real failure.
+   */
+  private boolean mayBeApplied(ResourceIntent intent) {
+    synchronized (pending) {
+      return intent.sequence() <= replayedThrough || retried.contains(intent.sequence());
+    }
+  }
+
+  private static boolean isAlreadyApplied(ResourceIntent intent, RuntimeException error) {
+    if (!(error instanceof IamcoreServerException serverException)) {
+      return false;
+    }
+
+    int statusCode = serverException.getStatusCode();
+
+    return (intent.type() == ResourceIntent.Type.CREATE && statusCode == 409)
+        || (intent.type() == ResourceIntent.Type.DELETE && statusCode == 404);
+  }
+
+  /**
+   * Only a degraded server, an open circuit breaker and network failures are worth retrying. Any
+   * other error, such as a body that cannot be serialized or a response that cannot be parsed,
+   * fails the same way every time, so the intent is dead-lettered instead of blocking the queue.
+   */
+  private static boolean isTransient(RuntimeException error) {
+    if (error instanceof IamcoreServerException serverException) {
+      int statusCode = serverException.getStatusCode();
+
+      return statusCode >= 500 || statusCode == 408 || statusCode == 429;
+    }
+
+    if (error instanceof CircuitBreakerOpenException) {
+      return true;
+    }
+
+    return error instanceof SdkException
+        && error.getCause() instanceof IOException
+        && !(error.getCause() instanceof JsonProcessingException);
+  }
+
+  private static Duration min(Duration first, Duration second) {
+    return first.compareTo(second) <= 0 ? first : second;
+  }
+
+  /**
+   * Identifies the resource an intent writes to. The resource path is left out because deletes
+   * do not carry it, yet must stay ordered after a create of the same resource.
+   */
+  private record ResourceKey(String accountId, String application, String tenantId,
+      String resourceType, String resourceId) {
+
+    static ResourceKey of(ResourceIntent intent) {
+      return new ResourceKey(intent.accountId(), intent.application(), intent.tenantId(),
+          intent.resourceType(), intent.resourceId());
+    }
+  }
+}
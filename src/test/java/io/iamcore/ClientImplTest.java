@@ -0,0 +1,608 @@
+package io.iamcore;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import io.iamcore.authentication.context.SecurityContext;
+import io.iamcore.authentication.context.SecurityContextHolder;
+import io.iamcore.exception.BulkOperationException;
+import io.iamcore.exception.IamcoreServerException;
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.dto.Database;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@WireMockTest
+class ClientImplTest {
+
+  private static final String API_KEY = "test-api-key";
+  private static final String USER_IRN_PATH = "/api/v1/users/me/irn";
+  private static final String RESOURCE_PATH = "/api/v1/resources";
+  private static final String POOLS_PATH = "/api/v1/pools";
+  private static final String EVALUATE_PATH = "/api/v1/evaluate";
+  private static final String QUERY_FILTER_PATH = "/api/v1/evaluate/database-query-filter";
+
+  private final HttpHeader bearerHeader = new HttpHeader("Authorization", "Bearer test-token");
+  private final IRN principalIrn = IRN.of("account", "iamcore", "", null, "user", "", "user");
+
+  private String baseUrl;
+
+  // SUT
+  private ClientImpl client;
+
+  @BeforeEach
+  void setUp(WireMockRuntimeInfo wmRuntimeInfo) {
+    baseUrl = wmRuntimeInfo.getHttpBaseUrl();
+    stubFor(
+        get(urlEqualTo(USER_IRN_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"data\": \"" + principalIrn + "\"}")));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (client != null) {
+      client.close();
+    }
+  }
+
+  private ClientProperties properties() {
+    return new ClientProperties(API_KEY, baseUrl, false);
+  }
+
+  private static void stubCreated(String resourceId) {
+    stubFor(
+        post(urlEqualTo(RESOURCE_PATH))
+            .withRequestBody(containing("\"name\":\"" + resourceId + "\""))
+            .willReturn(
+                aResponse()
+                    .withStatus(201)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"data\": {\"irn\": \"irn:account:app:tenant::document/"
+                        + resourceId + "\"}}")));
+  }
+
+  private static void awaitRequest(RequestPatternBuilder request) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+    while (findAll(request).isEmpty() && System.nanoTime() - deadline < 0) {
+      Thread.sleep(10);
+    }
+  }
+
+  @Nested
+  class BulkOperations {
+
+    @Test
+    void reportsCreatedResourcesInRequestOrder() {
+      // given
+      client = new ClientImpl(properties());
+      stubFor(
+          post(urlEqualTo(RESOURCE_PATH))
+              .withRequestBody(containing("\"name\":\"slow\""))
+              .willReturn(
+                  aResponse()
+                      .withStatus(201)
+                      .withFixedDelay(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"data\": {\"irn\": "
+                          + "\"irn:account:app:tenant::document/slow\"}}")));
+      stubCreated("fast");
+      stubFor(
+          post(urlEqualTo(RESOURCE_PATH))
+              .withRequestBody(containing("\"name\":\"invalid\""))
+              .willReturn(
+                  aResponse()
+                      .withStatus(400)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"message\": \"Invalid resource\"}")));
+
+      // when
+      List<BulkResult<IRN>> results = client.createResources(bearerHeader, "app", "tenant",
+          "document", "/", List.of("slow", "invalid", "fast"), null);
+
+      // then
+      assertThat(results).hasSize(3);
+      assertThat(results.get(0).value().getResourceId()).isEqualTo("slow");
+      assertThat(results.get(1).isSuccess()).isFalse();
+      assertThat(results.get(1).error())
+          .isInstanceOf(IamcoreServerException.class)
+          .hasMessageContaining("Invalid resource");
+      assertThat(results.get(2).value().getResourceId()).isEqualTo("fast");
+    }
+
+    @Test
+    void refreshesPoolIndexAfterAssigningPools() {
+      // given
+      ClientProperties properties = properties();
+      properties.setPoolIndexEnabled(true);
+      client = new ClientImpl(properties);
+      stubFor(
+          get(urlPathEqualTo(POOLS_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"data\": []}")));
+      stubCreated("pooled");
+      client.getPoolIndex(bearerHeader);
+
+      // when
+      client.createResources(bearerHeader, "app", "tenant", "document", "/",
+          List.of("pooled"), Set.of("pool-id"));
+      client.getPoolIndex(bearerHeader);
+
+      // then
+      verify(2, getRequestedFor(urlPathEqualTo(POOLS_PATH)));
+    }
+
+    @Test
+    void boundsConcurrentPoolUpdates() {
+      // given
+      ClientProperties properties = properties();
+      properties.setBulkParallelism(3);
+      client = new ClientImpl(properties);
+      stubFor(
+          patch(urlPathMatching(RESOURCE_PATH + "/.+"))
+              .willReturn(aResponse().withStatus(204).withFixedDelay(300)));
+      Map<String, Set<String>> poolIds = new LinkedHashMap<>();
+      IntStream.range(0, 6).forEach(i -> poolIds.put("doc-" + i, Set.of("pool")));
+
+      // when
+      long startNanos = System.nanoTime();
+      Map<String, BulkResult<Void>> results = client.updateResources(bearerHeader, "account",
+          "app", "tenant", "document", "/", poolIds);
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+      // then
+      assertThat(results).containsOnlyKeys(poolIds.keySet());
+      assertThat(results.values()).allMatch(BulkResult::isSuccess);
+      assertThat(elapsed).isBetween(Duration.ofMillis(600), Duration.ofMillis(1800));
+      verify(6, patchRequestedFor(urlPathMatching(RESOURCE_PATH + "/.+")));
+    }
+
+    @Test
+    void reportsOutcomeOfEachPoolUpdate() {
+      // given
+      client = new ClientImpl(properties());
+      IRN missingIrn = IRN.of("account", "app", "tenant", null, "document", "/", "missing");
+      stubFor(
+          patch(urlPathMatching(RESOURCE_PATH + "/.+"))
+              .willReturn(aResponse().withStatus(204)));
+      stubFor(
+          patch(urlEqualTo(RESOURCE_PATH + "/" + missingIrn.toBase64()))
+              .willReturn(
+                  aResponse()
+                      .withStatus(404)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"message\": \"Resource not found\"}")));
+      Map<String, Set<String>> poolIds = new LinkedHashMap<>();
+      poolIds.put("updated", Set.of("pool"));
+      poolIds.put("missing", Set.of("pool"));
+      poolIds.put("unchanged", null);
+
+      // when
+      Map<String, BulkResult<Void>> results = client.updateResources(bearerHeader, "account",
+          "app", "tenant", "document", "/", poolIds);
+
+      // then
+      assertThat(results.keySet()).containsExactly("updated", "missing", "unchanged");
+      assertThat(results.get("updated").isSuccess()).isTrue();
+      assertThat(results.get("missing").error())
+          .isInstanceOf(IamcoreServerException.class)
+          .hasMessageContaining("Resource not found");
+      assertThat(results.get("unchanged").isSuccess()).isTrue();
+      verify(2, patchRequestedFor(urlPathMatching(RESOURCE_PATH + "/.+")));
+    }
+
+    @Test
+    void reportsFailedDeleteChunks() {
+      // given
+      ClientProperties properties = properties();
+      properties.setDeleteChunkSize(2);
+      client = new ClientImpl(properties);
+      stubFor(post(urlEqualTo(RESOURCE_PATH + "/delete")).willReturn(aResponse().withStatus(204)));
+      stubFor(
+          post(urlEqualTo(RESOURCE_PATH + "/delete"))
+              .withRequestBody(containing(
+                  IRN.of("account", "app", "tenant", null, "document", null, "c").toBase64()))
+              .willReturn(
+                  aResponse()
+                      .withStatus(503)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"message\": \"Service unavailable\"}")));
+      Set<String> resourceIds = new LinkedHashSet<>(List.of("a", "b", "c", "d", "e"));
+
+      // when
+      Throwable thrown = catchThrowable(() -> client.deleteResources(bearerHeader, "account",
+          "app", "tenant", "document", "/", resourceIds));
+
+      // then
+      assertThat(thrown)
+          .isInstanceOf(BulkOperationException.class)
+          .hasMessageContaining("Failed to delete 2 of 5 resources");
+      BulkOperationException bulkException = (BulkOperationException) thrown;
+      assertThat(bulkException.getSucceededCount()).isEqualTo(3);
+      assertThat(bulkException.getFailures()).containsOnlyKeys("c", "d");
+      verify(3, postRequestedFor(urlEqualTo(RESOURCE_PATH + "/delete")));
+    }
+  }
+
+  @Nested
+  class AccountResolution {
+
+    private final Set<String> poolIds = Set.of("pool");
+
+    @BeforeEach
+    void setUp() {
+      stubFor(
+          patch(urlPathMatching(RESOURCE_PATH + "/.+"))
+              .willReturn(aResponse().withStatus(204)));
+      client = new ClientImpl(properties());
+    }
+
+    @AfterEach
+    void tearDown() {
+      SecurityContextHolder.clearSecurityContext();
+    }
+
+    @Test
+    void usesExplicitAccountIdWithoutPrincipalLookup() {
+      // given
+      IRN resourceIrn = IRN.of("other", "app", "tenant", null, "document", "/", "doc");
+
+      // when
+      client.updateResource(bearerHeader, "other", "app", "tenant", "document", "/", "doc",
+          poolIds);
+
+      // then
+      verify(1, patchRequestedFor(urlEqualTo(RESOURCE_PATH + "/" + resourceIrn.toBase64())));
+      verify(0, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+    }
+
+    @Test
+    void resolvesAccountFromSecurityContextWithSameHeader() {
+      // given
+      SecurityContextHolder.initializeSecurityContext(
+          new SecurityContext(new HttpHeader("authorization", "Bearer test-token"), principalIrn));
+      IRN resourceIrn = IRN.of("account", "app", "tenant", null, "document", "/", "doc");
+
+      // when
+      client.updateResource(bearerHeader, "app", "tenant", "document", "/", "doc", poolIds);
+
+      // then
+      verify(1, patchRequestedFor(urlEqualTo(RESOURCE_PATH + "/" + resourceIrn.toBase64())));
+      verify(0, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+    }
+
+    @Test
+    void looksUpAccountOfOtherHeaderOnce() {
+      // given
+      SecurityContextHolder.initializeSecurityContext(
+          new SecurityContext(new HttpHeader("Authorization", "Bearer other-token"),
+              IRN.of("other", "iamcore", "", null, "user", "", "user")));
+      IRN resourceIrn = IRN.of("account", "app", "tenant", null, "document", "/", "doc");
+
+      // when
+      client.updateResource(bearerHeader, "app", "tenant", "document", "/", "doc", poolIds);
+      client.updateResource(bearerHeader, "app", "tenant", "document", "/", "doc", poolIds);
+
+      // then
+      verify(2, patchRequestedFor(urlEqualTo(RESOURCE_PATH + "/" + resourceIrn.toBase64())));
+      verify(1, getRequestedFor(urlEqualTo(USER_IRN_PATH))
+          .withHeader("Authorization", equalTo("Bearer test-token")));
+    }
+
+    @Test
+    void rejectsMissingAuthorizationHeader() {
+      // when & then
+      assertThatThrownBy(() -> client.updateResource(null, "app", "tenant", "document", "/",
+          "doc", poolIds))
+          .isInstanceOf(SdkException.class)
+          .hasMessageContaining("Authorization header must be defined");
+      verify(0, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+    }
+  }
+
+  @Nested
+  class Evaluation {
+
+    private final Set<String> resourceIds = IntStream.range(0, 1500)
+        .mapToObj(i -> "document-" + i)
+        .collect(Collectors.toSet());
+
+    @BeforeEach
+    void setUp() {
+      stubFor(post(urlEqualTo(EVALUATE_PATH)).willReturn(aResponse().withStatus(200)));
+    }
+
+    @Test
+    void sendsSingleRequestByDefault() {
+      // given
+      client = new ClientImpl(properties());
+
+      // when
+      Set<String> authorized = client.authorizeIrns(bearerHeader, "account", "app", "tenant",
+          "document", "/", resourceIds, "read");
+
+      // then
+      assertThat(authorized).isEqualTo(resourceIds);
+      verify(1, postRequestedFor(urlEqualTo(EVALUATE_PATH)));
+    }
+
+    @Test
+    void splitsRequestsLargerThanConfiguredChunkSize() {
+      // given
+      ClientProperties properties = properties();
+      properties.setEvaluationChunkSize(1000);
+      client = new ClientImpl(properties);
+
+      // when
+      Set<String> authorized = client.authorizeIrns(bearerHeader, "account", "app", "tenant",
+          "document", "/", resourceIds, "read");
+
+      // then
+      assertThat(authorized).isEqualTo(resourceIds);
+      verify(2, postRequestedFor(urlEqualTo(EVALUATE_PATH)));
+    }
+  }
+
+  @Nested
+  class TenantApiKey {
+
+    private final String apiKeysPath = "/api/v1/principals/%s/api-keys".formatted(
+        IRN.of("account", "iamcore", "tenant", null, "tenant", null, "tenant").toBase64());
+
+    @BeforeEach
+    void setUp() {
+      client = new ClientImpl(properties());
+    }
+
+    @Test
+    void cachesExistingTenantApiKey() {
+      // given
+      stubActiveApiKeys("{\"data\": [{\"apiKey\": \"tenant-api-key\"}]}", 0);
+
+      // when
+      client.getTenantApiKeyHeader("account", "tenant");
+      HttpHeader header = client.getTenantApiKeyHeader("account", "tenant");
+
+      // then
+      assertThat(header.getName()).isEqualTo(ClientImpl.API_KEY_HEADER_NAME);
+      assertThat(header.getValue()).isEqualTo("tenant-api-key");
+      verify(1, getRequestedFor(urlPathEqualTo(apiKeysPath))
+          .withHeader(ClientImpl.API_KEY_HEADER_NAME, equalTo(API_KEY)));
+      verify(0, postRequestedFor(urlPathEqualTo(apiKeysPath)));
+    }
+
+    @Test
+    void createsApiKeyForTenantWithoutOne() {
+      // given
+      stubActiveApiKeys("{\"data\": []}", 0);
+      stubCreatedApiKey();
+
+      // when
+      HttpHeader header = client.getTenantApiKeyHeader("account", "tenant");
+
+      // then
+      assertThat(header.getValue()).isEqualTo("created-api-key");
+      verify(1, postRequestedFor(urlPathEqualTo(apiKeysPath)));
+    }
+
+    @Test
+    void createsSingleApiKeyForConcurrentCallers() {
+      // given
+      stubActiveApiKeys("{\"data\": []}", 200);
+      stubCreatedApiKey();
+
+      // when
+      List<CompletableFuture<HttpHeader>> headers = IntStream.range(0, 5)
+          .mapToObj(i -> CompletableFuture.supplyAsync(
+              () -> client.getTenantApiKeyHeader("account", "tenant")))
+          .toList();
+
+      // then
+      assertThat(headers).allSatisfy(
+          header -> assertThat(header.join().getValue()).isEqualTo("created-api-key"));
+      verify(1, postRequestedFor(urlPathEqualTo(apiKeysPath)));
+    }
+
+    private void stubActiveApiKeys(String body, int delayMillis) {
+      stubFor(
+          get(urlPathEqualTo(apiKeysPath))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withFixedDelay(delayMillis)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody(body)));
+    }
+
+    private void stubCreatedApiKey() {
+      stubFor(
+          post(urlPathEqualTo(apiKeysPath))
+              .willReturn(
+                  aResponse()
+                      .withStatus(201)
+                      .withHeader("Location", apiKeysPath + "/created-api-key")));
+    }
+  }
+
+  @Nested
+  class Transport {
+
+    private final AtomicInteger executedTasks = new AtomicInteger();
+    private final ExecutorService delegate = Executors.newCachedThreadPool();
+    private final Executor countingExecutor = task -> {
+      executedTasks.incrementAndGet();
+      delegate.execute(task);
+    };
+
+    @BeforeEach
+    void setUp() {
+      stubFor(
+          post(urlEqualTo(QUERY_FILTER_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"data\": \"owner = 'user'\"}")));
+    }
+
+    @AfterEach
+    void tearDown() {
+      delegate.shutdownNow();
+    }
+
+    @Test
+    void usesInjectedHttpClient() {
+      // given
+      ClientProperties properties = properties();
+      properties.setHttpClient(HttpClient.newBuilder().executor(countingExecutor).build());
+      client = new ClientImpl(properties);
+
+      // when
+      String filter =
+          client.authorizationDbQueryFilterAsync(bearerHeader, "read", Database.POSTGRES).join();
+
+      // then
+      assertThat(filter).isEqualTo("owner = 'user'");
+      assertThat(executedTasks).hasPositiveValue();
+    }
+
+    @Test
+    void buildsHttpClientOnConfiguredExecutor() {
+      // given
+      ClientProperties properties = properties();
+      properties.setExecutor(countingExecutor);
+      properties.setConnectTimeout(Duration.ofSeconds(5));
+      properties.setHttpVersion(HttpClient.Version.HTTP_1_1);
+      client = new ClientImpl(properties);
+
+      // when
+      String filter =
+          client.authorizationDbQueryFilterAsync(bearerHeader, "read", Database.POSTGRES).join();
+
+      // then
+      assertThat(filter).isEqualTo("owner = 'user'");
+      assertThat(executedTasks).hasPositiveValue();
+    }
+
+    @Test
+    void runsOnVirtualThreads() {
+      // given
+      ClientProperties properties = properties();
+      properties.setVirtualThreadsEnabled(true);
+      client = new ClientImpl(properties);
+
+      // when
+      String filter =
+          client.authorizationDbQueryFilter(bearerHeader, "read", Database.POSTGRES);
+
+      // then
+      assertThat(filter).isEqualTo("owner = 'user'");
+    }
+
+    @Test
+    void leavesConfiguredExecutorRunningOnClose() {
+      // given
+      ClientProperties properties = properties();
+      properties.setExecutor(delegate);
+      client = new ClientImpl(properties);
+      client.authorizationDbQueryFilterAsync(bearerHeader, "read", Database.POSTGRES).join();
+
+      // when
+      client.close();
+      client = null;
+
+      // then
+      assertThat(delegate.isShutdown()).isFalse();
+    }
+  }
+
+  @Nested
+  class WriteBehind {
+
+    @TempDir
+    private Path tempDir;
+
+    private Path journalPath;
+
+    @BeforeEach
+    void setUp() {
+      journalPath = tempDir.resolve("iamcore.journal");
+      ClientProperties properties = properties();
+      properties.setWriteBehindJournalPath(journalPath);
+      properties.setWriteBehindDrainInterval(Duration.ofMillis(20));
+      client = new ClientImpl(properties);
+    }
+
+    @Test
+    void rejectsCallerWithoutPermissionSynchronously() throws Exception {
+      // given
+      stubFor(
+          post(urlEqualTo(RESOURCE_PATH))
+              .withHeader("Authorization", equalTo("Bearer test-token"))
+              .willReturn(
+                  aResponse()
+                      .withStatus(403)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"message\": \"Access denied\"}")));
+
+      // when
+      Throwable thrown = catchThrowable(() -> client.createResource(bearerHeader, "app",
+          "tenant", "document", "/", "denied", Set.of()));
+
+      // then
+      assertThat(thrown)
+          .isInstanceOf(IamcoreServerException.class)
+          .hasMessageContaining("Access denied");
+      assertThat(Files.size(journalPath)).isZero();
+      verify(0, postRequestedFor(urlEqualTo(RESOURCE_PATH))
+          .withHeader(ClientImpl.API_KEY_HEADER_NAME, equalTo(API_KEY)));
+    }
+
+    @Test
+    void journalsWritesMadeWithApplicationApiKey() throws Exception {
+      // given
+      stubCreated("journaled");
+
+      // when
+      IRN resourceIrn = client.createResource(client.getApplicationApiKeyHeader(), "app",
+          "tenant", "document", "/", "journaled", Set.of());
+
+      // then
+      assertThat(resourceIrn.getAccountId()).isEqualTo("account");
+      assertThat(Files.readString(journalPath)).contains("\"resourceId\":\"journaled\"");
+      RequestPatternBuilder applied = postRequestedFor(urlEqualTo(RESOURCE_PATH))
+          .withHeader(ClientImpl.API_KEY_HEADER_NAME, equalTo(API_KEY));
+      awaitRequest(applied);
+      verify(1, applied);
+    }
+  }
+}
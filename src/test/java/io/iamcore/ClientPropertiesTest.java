@@ -0,0 +1,44 @@
+package io.iamcore;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.iamcore.exception.SdkException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ClientPropertiesTest {
+
+  // SUT
+  private final ClientProperties properties =
+      new ClientProperties("test-api-key", "http://localhost", false);
+
+  @Test
+  void leavesTransportSettingsUnsetByDefault() {
+    // then
+    assertThat(properties.getHttpClient()).isNull();
+    assertThat(properties.getExecutor()).isNull();
+    assertThat(properties.isVirtualThreadsEnabled()).isFalse();
+    assertThat(properties.getConnectTimeout()).isNull();
+    assertThat(properties.getHttpVersion()).isNull();
+  }
+
+  @Test
+  void rejectsNonPositiveConnectTimeout() {
+    // when & then
+    assertThatThrownBy(() -> properties.setConnectTimeout(Duration.ZERO))
+        .isInstanceOf(SdkException.class)
+        .hasMessageContaining("Connect timeout must be positive");
+  }
+
+  @Test
+  void acceptsNullConnectTimeout() {
+    // given
+    properties.setConnectTimeout(Duration.ofSeconds(1));
+
+    // when
+    properties.setConnectTimeout(null);
+
+    // then
+    assertThat(properties.getConnectTimeout()).isNull();
+  }
+}
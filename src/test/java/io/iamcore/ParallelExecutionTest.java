@@ -0,0 +1,113 @@
+package io.iamcore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.iamcore.exception.SdkException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ParallelExecutionTest {
+
+  @Test
+  void partitionsIntoChunks() {
+    // when
+    List<List<Integer>> chunks = ParallelExecution.partition(List.of(1, 2, 3, 4, 5), 2);
+
+    // then
+    assertThat(chunks).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+  }
+
+  @Test
+  void partitionsByCountAndWeight() {
+    // when
+    List<List<Integer>> chunks =
+        ParallelExecution.partition(List.of(1, 1, 1, 4, 9, 2), 2, 5, Integer::longValue);
+
+    // then
+    assertThat(chunks).containsExactly(List.of(1, 1), List.of(1, 4), List.of(9), List.of(2));
+  }
+
+  @Test
+  void keepsInputOrderAndBoundsConcurrency() {
+    // given
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Integer> inputs = IntStream.range(0, 50).boxed().toList();
+
+    // when
+    List<Integer> results = ParallelExecution.mapAsync(inputs, 3,
+        (Integer input) -> CompletableFuture.supplyAsync(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          sleep(2);
+          running.decrementAndGet();
+          return input * 2;
+        })).join();
+
+    // then
+    assertThat(results).isEqualTo(inputs.stream().map(input -> input * 2).toList());
+    assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  void handlesSynchronouslyCompletedTasks() {
+    // given
+    List<Integer> inputs = IntStream.range(0, 100_000).boxed().toList();
+
+    // when
+    List<Integer> results =
+        ParallelExecution.mapAsync(inputs, 2, CompletableFuture::completedFuture).join();
+
+    // then
+    assertThat(results).hasSize(100_000);
+  }
+
+  @Test
+  void failsFastWithoutStartingRemainingTasks() {
+    // given
+    AtomicInteger started = new AtomicInteger();
+    List<Integer> inputs = IntStream.range(0, 100).boxed().toList();
+
+    // when & then
+    assertThatThrownBy(() -> ParallelExecution.mapAsync(inputs, 1, (Integer input) -> {
+      started.incrementAndGet();
+      return input == 2
+          ? CompletableFuture.<Integer>failedFuture(new SdkException("denied"))
+          : CompletableFuture.completedFuture(input);
+    }).join())
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(SdkException.class);
+    assertThat(started.get()).isEqualTo(3);
+  }
+
+  @Test
+  void reportsEachOutcomeWithoutFailingFast() {
+    // given
+    List<Integer> inputs = List.of(1, 2, 3);
+
+    // when
+    List<BulkResult<Integer>> results = ParallelExecution.mapEachAsync(inputs, 1,
+        (Integer input) -> input == 2
+            ? CompletableFuture.<Integer>failedFuture(new SdkException("denied"))
+            : CompletableFuture.completedFuture(input * 10)).join();
+
+    // then
+    assertThat(results).extracting(BulkResult::isSuccess).containsExactly(true, false, true);
+    assertThat(results.get(0).value()).isEqualTo(10);
+    assertThat(results.get(1).error()).isInstanceOf(SdkException.class).hasMessage("denied");
+    assertThat(results.get(2).value()).isEqualTo(30);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package io.iamcore.authentication;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.iamcore.IRN;
+import io.iamcore.exception.IamcoreServerException;
+import io.iamcore.server.ServerClientImpl;
+import java.net.URI;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+class AnonymousAuthenticatorTest {
+
+  private static final String USER_IRN_PATH = "/api/v1/users/me/irn";
+
+  private final IRN anonymousIrn = IRN.of("iamcore", "user", "", "/pool", "user", "", "anonymous");
+  private final IRN refreshedIrn = IRN.of("iamcore", "user", "", "/pool", "user", "", "refreshed");
+
+  private ServerClientImpl serverClient;
+
+  // SUT
+  private AnonymousAuthenticator authenticator;
+
+  @BeforeEach
+  void setUp(WireMockRuntimeInfo wmRuntimeInfo) {
+    serverClient = new ServerClientImpl(URI.create(wmRuntimeInfo.getHttpBaseUrl()),
+        new ObjectMapper());
+    stubPrincipal(anonymousIrn);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (authenticator != null) {
+      authenticator.close();
+    }
+  }
+
+  @Test
+  void resolvesPrincipalOnce() {
+    // given
+    authenticator = new AnonymousAuthenticator(serverClient);
+
+    // when
+    authenticator.authenticate();
+    IRN principalIrn = authenticator.authenticate().getPrincipalIrn();
+
+    // then
+    assertThat(principalIrn.toBase64()).isEqualTo(anonymousIrn.toBase64());
+    verify(1, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+  }
+
+  @Test
+  void neverCallsServerForStaticPrincipal() {
+    // given
+    authenticator = new AnonymousAuthenticator(serverClient, refreshedIrn, Duration.ofMillis(20));
+
+    // when
+    IRN principalIrn = authenticator.authenticate().getPrincipalIrn();
+
+    // then
+    assertThat(principalIrn).isSameAs(refreshedIrn);
+    verify(0, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+  }
+
+  @Test
+  void refreshesPrincipalInBackground() throws InterruptedException {
+    // given
+    authenticator = new AnonymousAuthenticator(serverClient, null, Duration.ofMillis(20));
+    authenticator.authenticate();
+
+    // when
+    stubPrincipal(refreshedIrn);
+
+    // then
+    awaitUntil(() -> authenticator.authenticate().getPrincipalIrn().toBase64()
+        .equals(refreshedIrn.toBase64()));
+    assertThat(authenticator.authenticate().getPrincipalIrn().toBase64())
+        .isEqualTo(refreshedIrn.toBase64());
+    assertThat(authenticator.getLastRefreshFailure()).isEmpty();
+  }
+
+  @Test
+  void keepsLastKnownPrincipalWhenRefreshFails() throws InterruptedException {
+    // given
+    authenticator = new AnonymousAuthenticator(serverClient, null, Duration.ofMillis(20));
+    authenticator.authenticate();
+
+    // when
+    stubFor(get(urlEqualTo(USER_IRN_PATH)).willReturn(aResponse().withStatus(503)));
+
+    // then
+    awaitUntil(() -> authenticator.getRefreshFailureCount() > 0);
+    assertThat(authenticator.authenticate().getPrincipalIrn().toBase64())
+        .isEqualTo(anonymousIrn.toBase64());
+    assertThat(authenticator.getLastRefreshFailure()).get()
+        .isInstanceOf(IamcoreServerException.class);
+  }
+
+  @Test
+  void stopsRefreshingWhenClosed() throws InterruptedException {
+    // given
+    authenticator = new AnonymousAuthenticator(serverClient, null, Duration.ofMillis(20));
+    authenticator.authenticate();
+
+    // when
+    authenticator.close();
+    Thread.sleep(50);
+    int requests = findAll(getRequestedFor(urlEqualTo(USER_IRN_PATH))).size();
+    Thread.sleep(100);
+
+    // then
+    verify(requests, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+  }
+
+  private void stubPrincipal(IRN principalIrn) {
+    stubFor(
+        get(urlEqualTo(USER_IRN_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"data\": \"" + principalIrn + "\"}")));
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+    while (!condition.getAsBoolean() && System.nanoTime() - deadline < 0) {
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package io.iamcore.authentication;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.ServerClientImpl;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@WireMockTest
+class PrincipalIrnCacheTest {
+
+  private static final String USER_IRN_PATH = "/api/v1/users/me/irn";
+
+  private IRN testPrincipalIrn;
+
+  // SUT
+  private PrincipalIrnCache principalIrnCache;
+
+  @BeforeEach
+  void setUp(WireMockRuntimeInfo wmRuntimeInfo) {
+    URI connectionUrl = URI.create(wmRuntimeInfo.getHttpBaseUrl());
+    testPrincipalIrn = IRN.of("iamcore", "user", "", "/pool", "user", "", "test-user");
+    principalIrnCache = new PrincipalIrnCache(
+        new ServerClientImpl(connectionUrl, new ObjectMapper()), 100, Duration.ofMinutes(1));
+
+    stubFor(
+        get(urlEqualTo(USER_IRN_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"data\": \"" + testPrincipalIrn + "\"}")));
+  }
+
+  @Test
+  void rejectsMissingHeader() {
+    // when & then
+    assertThatThrownBy(() -> principalIrnCache.getPrincipalIrn(null))
+        .isInstanceOf(SdkException.class)
+        .hasMessageContaining("Authorization header must be defined");
+    verify(0, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+  }
+
+  @Test
+  void resolvesSameHeaderOnce() {
+    // given
+    HttpHeader header = new HttpHeader("X-iamcore-API-Key", "test-api-key");
+
+    // when
+    IRN first = principalIrnCache.getPrincipalIrn(header);
+    IRN second = principalIrnCache.getPrincipalIrn(header);
+
+    // then
+    assertThat(first.toBase64()).isEqualTo(testPrincipalIrn.toBase64());
+    assertThat(second).isSameAs(first);
+    verify(1, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+  }
+
+  @Test
+  void doesNotCacheExpiredJwt() {
+    // given
+    HttpHeader header = new HttpHeader("Authorization",
+        "Bearer " + jwt(Instant.now().minusSeconds(60)));
+
+    // when
+    principalIrnCache.getPrincipalIrn(header);
+    principalIrnCache.getPrincipalIrn(header);
+
+    // then
+    verify(2, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+  }
+
+  @Test
+  void cachesValidJwt() {
+    // given
+    HttpHeader header = new HttpHeader("Authorization",
+        "Bearer " + jwt(Instant.now().plusSeconds(600)));
+
+    // when
+    principalIrnCache.getPrincipalIrn(header);
+    principalIrnCache.getPrincipalIrn(header);
+
+    // then
+    verify(1, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+  }
+
+  private static String jwt(Instant expiresAt) {
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+    String payload = encoder.encodeToString(
+        ("{\"exp\":" + expiresAt.getEpochSecond() + "}").getBytes(StandardCharsets.UTF_8));
+
+    return header + "." + payload + ".signature";
+  }
+}
@@ -0,0 +1,94 @@
+package io.iamcore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.exception.IamcoreServerException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuthorizationDecisionCacheTest {
+
+  private final HttpHeader authHeader = new HttpHeader("Authorization", "test-auth-token");
+  private final IRN allowedIrn =
+      IRN.of("iamcore", "resource", "", "/pool", "document", "", "allowed");
+  private final IRN deniedIrn =
+      IRN.of("iamcore", "resource", "", "/pool", "document", "", "denied");
+
+  private List<List<IRN>> serverCalls;
+
+  // SUT
+  private AuthorizationDecisionCache cache;
+
+  @BeforeEach
+  void setUp() {
+    serverCalls = new ArrayList<>();
+    cache = new AuthorizationDecisionCache(100, Duration.ofMinutes(1));
+  }
+
+  @Test
+  void sendsOnlyMissesToServer() {
+    // given
+    cache.authorize(authHeader, "read", List.of(allowedIrn), false, this::allowOnlyAllowedIrn);
+
+    // when
+    List<IRN> authorized = cache.authorize(authHeader, "read", List.of(allowedIrn, deniedIrn),
+        false, this::allowOnlyAllowedIrn);
+
+    // then
+    assertThat(authorized).containsExactly(allowedIrn);
+    assertThat(serverCalls).containsExactly(List.of(allowedIrn), List.of(deniedIrn));
+  }
+
+  @Test
+  void servesDenialsFromCache() {
+    // given
+    cache.authorize(authHeader, "read", List.of(allowedIrn, deniedIrn), false,
+        this::allowOnlyAllowedIrn);
+
+    // when
+    List<IRN> authorized = cache.authorize(authHeader, "read", List.of(allowedIrn, deniedIrn),
+        false, this::allowOnlyAllowedIrn);
+
+    // then
+    assertThat(authorized).containsExactly(allowedIrn);
+    assertThat(serverCalls).hasSize(1);
+  }
+
+  @Test
+  void reevaluatesCachedDenialsForAllOrNothingAuthorization() {
+    // given
+    cache.authorize(authHeader, "read", List.of(deniedIrn), false, this::allowOnlyAllowedIrn);
+
+    // when & then
+    assertThatThrownBy(() -> cache.authorize(authHeader, "read", List.of(deniedIrn), true,
+        irns -> {
+          throw new IamcoreServerException("Access denied", 403);
+        }))
+        .isInstanceOf(IamcoreServerException.class);
+  }
+
+  @Test
+  void separatesPrincipalsAndActions() {
+    // given
+    HttpHeader otherHeader = new HttpHeader("Authorization", "other-auth-token");
+    cache.authorize(authHeader, "read", List.of(allowedIrn), false, this::allowOnlyAllowedIrn);
+
+    // when
+    cache.authorize(otherHeader, "read", List.of(allowedIrn), false, this::allowOnlyAllowedIrn);
+    cache.authorize(authHeader, "write", List.of(allowedIrn), false, this::allowOnlyAllowedIrn);
+
+    // then
+    assertThat(serverCalls).hasSize(3);
+  }
+
+  private List<IRN> allowOnlyAllowedIrn(List<IRN> irns) {
+    serverCalls.add(List.copyOf(irns));
+    return irns.stream().filter(irn -> irn.toString().equals(allowedIrn.toString())).toList();
+  }
+}
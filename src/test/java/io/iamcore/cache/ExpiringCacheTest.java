@@ -0,0 +1,76 @@
+package io.iamcore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.iamcore.exception.SdkException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+  @Test
+  void returnsStoredValue() {
+    // given
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+    // when
+    cache.put("key", "value");
+
+    // then
+    assertThat(cache.get("key")).contains("value");
+    assertThat(cache.get("missing")).isEmpty();
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedEntry() {
+    // given
+    ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofMinutes(1));
+    cache.put("first", "1");
+    cache.put("second", "2");
+    cache.get("first");
+
+    // when
+    cache.put("third", "3");
+
+    // then
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("second")).isEmpty();
+    assertThat(cache.get("first")).contains("1");
+    assertThat(cache.get("third")).contains("3");
+  }
+
+  @Test
+  void expiresEntries() throws InterruptedException {
+    // given
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+    cache.put("key", "value", Duration.ofMillis(10));
+
+    // when
+    Thread.sleep(20);
+
+    // then
+    assertThat(cache.get("key")).isEmpty();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void ignoresAlreadyExpiredEntries() {
+    // given
+    ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+    // when
+    cache.put("key", "value", Duration.ofSeconds(-1));
+
+    // then
+    assertThat(cache.get("key")).isEmpty();
+  }
+
+  @Test
+  void rejectsInvalidConfiguration() {
+    assertThatThrownBy(() -> new ExpiringCache<>(0, Duration.ofMinutes(1)))
+        .isInstanceOf(SdkException.class);
+    assertThatThrownBy(() -> new ExpiringCache<>(10, Duration.ZERO))
+        .isInstanceOf(SdkException.class);
+  }
+}
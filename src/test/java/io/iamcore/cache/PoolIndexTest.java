@@ -0,0 +1,73 @@
+package io.iamcore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.iamcore.IRN;
+import io.iamcore.server.dto.PoolResponse;
+import io.iamcore.server.dto.PoolsQueryFilter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PoolIndexTest {
+
+  private final IRN firstResourceIrn =
+      IRN.of("iamcore", "resource", "", "/pool", "document", "", "first");
+  private final IRN secondResourceIrn =
+      IRN.of("iamcore", "resource", "", "/pool", "document", "", "second");
+  private final PoolResponse adminPool = new PoolResponse("admin-id",
+      "irn:rc73dbh7q0:iamcore:4atcicnisg::pool/prod/admin", "Admin",
+      List.of(firstResourceIrn.toBase64(), secondResourceIrn.toBase64()));
+  private final PoolResponse guestPool = new PoolResponse("guest-id",
+      "irn:rc73dbh7q0:iamcore:4atcicnisg::pool/prod/guest", "Guest",
+      List.of(secondResourceIrn.toBase64()));
+
+  // SUT
+  private final PoolIndex index = new PoolIndex(List.of(adminPool, guestPool));
+
+  @Test
+  void findsPoolsByResource() {
+    // when
+    List<PoolResponse> pools = index.find(new PoolsQueryFilter(null, null, secondResourceIrn));
+
+    // then
+    assertThat(pools).containsExactly(adminPool, guestPool);
+  }
+
+  @Test
+  void combinesCriteria() {
+    // when
+    List<PoolResponse> pools = index.find(new PoolsQueryFilter(null, "Guest", secondResourceIrn));
+
+    // then
+    assertThat(pools).containsExactly(guestPool);
+  }
+
+  @Test
+  void findsNothingForUnknownResource() {
+    // given
+    IRN unknownIrn = IRN.of("iamcore", "resource", "", "/pool", "document", "", "unknown");
+
+    // when
+    List<PoolResponse> pools = index.find(new PoolsQueryFilter(null, null, unknownIrn));
+
+    // then
+    assertThat(pools).isEmpty();
+  }
+
+  @Test
+  void returnsAllPoolsForEmptyFilter() {
+    // when
+    List<PoolResponse> pools = index.find(new PoolsQueryFilter(null, "", null));
+
+    // then
+    assertThat(pools).containsExactly(adminPool, guestPool);
+  }
+
+  @Test
+  void checksMembership() {
+    // when & then
+    assertThat(index.isMember("guest-id", secondResourceIrn)).isTrue();
+    assertThat(index.isMember("guest-id", firstResourceIrn)).isFalse();
+    assertThat(index.isMember("missing-id", firstResourceIrn)).isFalse();
+  }
+}
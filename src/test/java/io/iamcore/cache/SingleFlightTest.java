@@ -0,0 +1,80 @@
+package io.iamcore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  // SUT
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+  @Test
+  void sharesInFlightComputation() throws Exception {
+    // given
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(
+        () -> singleFlight.execute("key", () -> {
+          calls.incrementAndGet();
+          started.countDown();
+          await(release);
+          return "value";
+        }));
+    started.await(5, TimeUnit.SECONDS);
+
+    // when
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(
+        () -> singleFlight.execute("key", () -> "other"));
+    release.countDown();
+
+    // then
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+    assertThat(second.get(5, TimeUnit.SECONDS)).isIn("value", "other");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void forgetsComputationFailingWithError() {
+    // given
+    assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+      throw new StackOverflowError();
+    })).isInstanceOf(StackOverflowError.class);
+
+    // when
+    String value = singleFlight.execute("key", () -> "value");
+
+    // then
+    assertThat(value).isEqualTo("value");
+  }
+
+  @Test
+  void forgetsAsyncComputationFailingWithError() throws Exception {
+    // given
+    CompletableFuture<String> failed = singleFlight.executeAsync("key", () -> {
+      throw new StackOverflowError();
+    });
+
+    // when
+    CompletableFuture<String> retried =
+        singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture("value"));
+
+    // then
+    assertThat(failed).isCompletedExceptionally();
+    assertThat(retried.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
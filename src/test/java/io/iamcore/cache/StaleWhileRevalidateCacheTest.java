@@ -0,0 +1,144 @@
+package io.iamcore.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.iamcore.exception.IamcoreServerException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class StaleWhileRevalidateCacheTest {
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void servesFreshValueFromCache() {
+    // given
+    StaleWhileRevalidateCache<String, String> cache =
+        new StaleWhileRevalidateCache<>(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    cache.get("key", this::load);
+
+    // when
+    String value = cache.get("key", this::load);
+
+    // then
+    assertThat(value).isEqualTo("value-1");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void servesStaleValueWhileRefreshing() throws InterruptedException {
+    // given
+    StaleWhileRevalidateCache<String, String> cache =
+        new StaleWhileRevalidateCache<>(10, Duration.ofMillis(10), Duration.ofMinutes(1));
+    cache.get("key", this::load);
+    Thread.sleep(20);
+    CompletableFuture<String> refresh = new CompletableFuture<>();
+
+    // when
+    String staleValue = cache.get("key", () -> refresh);
+    refresh.complete("refreshed");
+
+    // then
+    assertThat(staleValue).isEqualTo("value-1");
+    assertThat(cache.get("key", this::load)).isEqualTo("refreshed");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void discardsLoadStartedBeforeInvalidation() {
+    // given
+    StaleWhileRevalidateCache<String, String> cache =
+        new StaleWhileRevalidateCache<>(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    CompletableFuture<String> outdatedLoad = new CompletableFuture<>();
+    CompletableFuture<String> outdatedValue = cache.getAsync("key", () -> outdatedLoad);
+
+    // when
+    cache.invalidate("key");
+    String value = cache.get("key", this::load);
+    outdatedLoad.complete("outdated");
+
+    // then
+    assertThat(value).isEqualTo("value-1");
+    assertThat(outdatedValue.join()).isEqualTo("outdated");
+    assertThat(cache.getIfPresent("key")).contains("value-1");
+    assertThat(cache.get("key", this::load)).isEqualTo("value-1");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void startsSingleRefreshForConcurrentStaleReads() throws InterruptedException {
+    // given
+    StaleWhileRevalidateCache<String, String> cache =
+        new StaleWhileRevalidateCache<>(10, Duration.ofMillis(10), Duration.ofMinutes(1));
+    cache.get("key", this::load);
+    Thread.sleep(20);
+    CompletableFuture<String> refresh = new CompletableFuture<>();
+    AtomicInteger refreshes = new AtomicInteger();
+
+    // when
+    cache.get("key", () -> {
+      refreshes.incrementAndGet();
+      return refresh;
+    });
+    cache.get("key", () -> {
+      refreshes.incrementAndGet();
+      return refresh;
+    });
+
+    // then
+    assertThat(refreshes).hasValue(1);
+  }
+
+  @Test
+  void keepsStaleValueWhenRefreshFails() throws InterruptedException {
+    // given
+    StaleWhileRevalidateCache<String, String> cache =
+        new StaleWhileRevalidateCache<>(10, Duration.ofMillis(10), Duration.ofMinutes(1));
+    cache.get("key", this::load);
+    Thread.sleep(20);
+
+    // when
+    String value = cache.get("key",
+        () -> CompletableFuture.failedFuture(new IamcoreServerException("Unavailable", 503)));
+
+    // then
+    assertThat(value).isEqualTo("value-1");
+    assertThat(cache.get("key", this::load)).isEqualTo("value-1");
+    assertThat(loads).hasValue(2);
+    assertThat(cache.get("key", this::load)).isEqualTo("value-2");
+  }
+
+  @Test
+  void waitsForLoadWhenValueExpired() throws InterruptedException {
+    // given
+    StaleWhileRevalidateCache<String, String> cache =
+        new StaleWhileRevalidateCache<>(10, Duration.ofMillis(10), Duration.ZERO);
+    cache.get("key", this::load);
+    Thread.sleep(20);
+
+    // when
+    String value = cache.get("key", this::load);
+
+    // then
+    assertThat(value).isEqualTo("value-2");
+  }
+
+  @Test
+  void propagatesLoadFailureOnMiss() {
+    // given
+    StaleWhileRevalidateCache<String, String> cache =
+        new StaleWhileRevalidateCache<>(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    // when & then
+    assertThatThrownBy(() -> cache.get("key",
+        () -> CompletableFuture.failedFuture(new IamcoreServerException("Unavailable", 503))))
+        .isInstanceOf(IamcoreServerException.class);
+  }
+
+  private CompletableFuture<String> load() {
+    return CompletableFuture.completedFuture("value-" + loads.incrementAndGet());
+  }
+}
@@ -0,0 +1,148 @@
+package io.iamcore.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.dto.Database;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DbQueryFilterParserTest {
+
+  // SUT
+  private final DbQueryFilterParser parser = new DbQueryFilterParser(100, Duration.ofHours(1));
+
+  @Test
+  void parameterizesSqlLiterals() {
+    // when
+    DbQueryFilter filter = parser.parse(Database.POSTGRES,
+        "\"resource_id\" IN ('a', 'it''s') AND version2 > 10 OR price < 1.5");
+
+    // then
+    assertThat(filter).isEqualTo(new SqlQueryFilter(
+        "\"resource_id\" IN (?, ?) AND version2 > ? OR price < ?",
+        List.of("a", "it's", 10L, new BigDecimal("1.5"))));
+  }
+
+  @Test
+  void sharesSqlShapeBetweenLiteralValues() {
+    // when
+    SqlQueryFilter first = (SqlQueryFilter) parser.parse(Database.POSTGRES, "owner = 'alice'");
+    SqlQueryFilter second = (SqlQueryFilter) parser.parse(Database.POSTGRES, "owner = 'bob'");
+
+    // then
+    assertThat(first.sql()).isEqualTo(second.sql()).isEqualTo("owner = ?");
+    assertThat(first.parameters()).containsExactly("alice");
+    assertThat(second.parameters()).containsExactly("bob");
+  }
+
+  @Test
+  void usesNamedParametersForJpa() {
+    // when
+    DbQueryFilter filter = parser.parse(Database.JPA, "e.owner = 'alice' AND e.level >= 3");
+
+    // then
+    assertThat(filter).isEqualTo(new JpaQueryFilter("e.owner = :p1 AND e.level >= :p2",
+        Map.of("p1", "alice", "p2", 3L)));
+  }
+
+  @Test
+  void keepsNumbersInsideQuotedIdentifiers() {
+    // when
+    DbQueryFilter filter = parser.parse(Database.POSTGRES, "\"level 2\" = 5 AND \"a\"\"1\" = 'x'");
+
+    // then
+    assertThat(filter).isEqualTo(new SqlQueryFilter("\"level 2\" = ? AND \"a\"\"1\" = ?",
+        List.of(5L, "x")));
+  }
+
+  @Test
+  void parameterizesLiteralsAfterKeywords() {
+    // when
+    DbQueryFilter filter = parser.parse(Database.POSTGRES,
+        "name LIKE 'a%' AND level BETWEEN 1 AND 5 OR NOT 'x' = tag");
+
+    // then
+    assertThat(filter).isEqualTo(new SqlQueryFilter(
+        "name LIKE ? AND level BETWEEN ? AND ? OR NOT ? = tag", List.of("a%", 1L, 5L, "x")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "created_at > DATE '2024-01-01'",
+      "created_at > now() - INTERVAL '1 day'",
+      "name = E'it\\'s'",
+      "name = 'back\\slash'",
+      "tags && ARRAY['a', 'b']",
+      "tags = '{a,b}'",
+      "id = 'x'::uuid",
+      "id = CAST('x' AS uuid) -- owner = 5",
+      "owner = 'alice' /* level = 5 */",
+      "owner = $1",
+      "owner = ?",
+      "e.owner = :owner",
+      "flags = B'0101'",
+      "name = U&'d\\0061t'",
+      "`level` = 5"
+  })
+  void keepsUnsupportedSqlVerbatim(String rawFilter) {
+    // when
+    DbQueryFilter filter = parser.parse(Database.POSTGRES, rawFilter);
+
+    // then
+    assertThat(filter).isEqualTo(new SqlQueryFilter(rawFilter, List.of()));
+  }
+
+  @Test
+  void keepsUnsupportedJpqlVerbatim() {
+    // when
+    DbQueryFilter filter = parser.parse(Database.JPA, "e.owner = :owner AND e.level = 3");
+
+    // then
+    assertThat(filter).isEqualTo(new JpaQueryFilter("e.owner = :owner AND e.level = 3", Map.of()));
+  }
+
+  @Test
+  void parsesMongoDocument() {
+    // when
+    DbQueryFilter filter = parser.parse(Database.MONGO,
+        "{'$or': [{'userId': 'test'}, {shared: true}]}");
+
+    // then
+    assertThat(filter).isInstanceOf(MongoQueryFilter.class);
+    assertThat(((MongoQueryFilter) filter).document())
+        .isEqualTo(Map.of("$or", List.of(Map.of("userId", "test"), Map.of("shared", true))));
+  }
+
+  @Test
+  void returnsCachedFilterForSameText() {
+    // when
+    DbQueryFilter first = parser.parse(Database.MONGO, "{'userId': 'test'}");
+    DbQueryFilter second = parser.parse(Database.MONGO, "{'userId': 'test'}");
+
+    // then
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  void rejectsUnterminatedStringLiteral() {
+    // when & then
+    assertThatThrownBy(() -> parser.parse(Database.POSTGRES, "owner = 'alice"))
+        .isInstanceOf(SdkException.class)
+        .hasMessageContaining("unterminated string literal");
+  }
+
+  @Test
+  void rejectsInvalidMongoDocument() {
+    // when & then
+    assertThatThrownBy(() -> parser.parse(Database.MONGO, "{'userId': "))
+        .isInstanceOf(SdkException.class)
+        .hasMessageContaining("Failed to parse Mongo query filter");
+  }
+}
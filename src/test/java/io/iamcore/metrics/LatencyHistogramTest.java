@@ -0,0 +1,60 @@
+package io.iamcore.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  // SUT
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  void returnsZeroWhenEmpty() {
+    // then
+    assertThat(histogram.getCount()).isZero();
+    assertThat(histogram.getValueAtPercentile(99)).isZero();
+  }
+
+  @Test
+  void countsSmallValuesExactly() {
+    // when
+    IntStream.rangeClosed(1, 100).forEach(histogram::record);
+
+    // then
+    assertThat(histogram.getCount()).isEqualTo(100);
+    assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+    assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+    assertThat(histogram.getMean()).isEqualTo(50.5);
+  }
+
+  @Test
+  void reportsLargeValuesWithinBucketPrecision() {
+    // when
+    IntStream.rangeClosed(1, 1000).forEach(i -> histogram.record(i * 1_000_000L));
+
+    // then
+    assertThat(histogram.getValueAtPercentile(50))
+        .isCloseTo(500_000_000L, within(500_000_000L / 64));
+    assertThat(histogram.getValueAtPercentile(99.9))
+        .isCloseTo(999_000_000L, within(999_000_000L / 64));
+    assertThat(histogram.getMax()).isEqualTo(1_000_000_000L);
+  }
+
+  @Test
+  void mapsEveryValueIntoItsBucket() {
+    // given
+    long[] values = {0, 127, 128, 129, 255, 256, 1_000_003, Long.MAX_VALUE};
+
+    // then
+    for (long value : values) {
+      int index = LatencyHistogram.indexOf(value);
+      assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+      assertThat(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value)
+          .isTrue();
+    }
+  }
+}
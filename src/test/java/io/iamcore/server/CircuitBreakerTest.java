@@ -0,0 +1,138 @@
+package io.iamcore.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.iamcore.exception.CircuitBreakerOpenException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private static final long FAST_NANOS = Duration.ofMillis(10).toNanos();
+  private static final long SLOW_NANOS = Duration.ofSeconds(3).toNanos();
+
+  private final AtomicLong clock = new AtomicLong();
+
+  // SUT
+  private final CircuitBreaker circuitBreaker = new CircuitBreaker("evaluation",
+      new CircuitBreaker.Config(0.5, 0.5, Duration.ofSeconds(2), Duration.ofSeconds(10), 4,
+          Duration.ofSeconds(5), 2),
+      clock::get);
+
+  @Test
+  void staysClosedBelowMinimumCalls() {
+    // when
+    call(FAST_NANOS, true);
+    call(FAST_NANOS, true);
+    call(FAST_NANOS, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void opensWhenFailureRateReachesThreshold() {
+    // when
+    call(FAST_NANOS, false);
+    call(FAST_NANOS, false);
+    call(FAST_NANOS, true);
+    call(FAST_NANOS, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThatThrownBy(circuitBreaker::acquire)
+        .isInstanceOf(CircuitBreakerOpenException.class)
+        .hasMessageContaining("evaluation");
+  }
+
+  @Test
+  void opensWhenSlowCallRateReachesThreshold() {
+    // when
+    call(FAST_NANOS, false);
+    call(FAST_NANOS, false);
+    call(SLOW_NANOS, false);
+    call(SLOW_NANOS, false);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void forgetsOutcomesOutsideWindow() {
+    // given
+    call(FAST_NANOS, true);
+    call(FAST_NANOS, true);
+    clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+    // when
+    call(FAST_NANOS, false);
+    call(FAST_NANOS, false);
+    call(FAST_NANOS, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void closesAfterSuccessfulProbes() {
+    // given
+    open();
+    clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+    // when
+    circuitBreaker.acquire();
+    circuitBreaker.acquire();
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThatThrownBy(circuitBreaker::acquire).isInstanceOf(CircuitBreakerOpenException.class);
+
+    circuitBreaker.record(FAST_NANOS, false);
+    circuitBreaker.record(FAST_NANOS, false);
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void reopensWhenProbeFails() {
+    // given
+    open();
+    clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+    // when
+    call(FAST_NANOS, true);
+
+    // then
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThatThrownBy(circuitBreaker::acquire).isInstanceOf(CircuitBreakerOpenException.class);
+  }
+
+  @Test
+  void admitsNewProbeAfterReleasedOne() {
+    // given
+    open();
+    clock.addAndGet(Duration.ofSeconds(5).toNanos());
+    circuitBreaker.acquire();
+    circuitBreaker.acquire();
+
+    // when
+    circuitBreaker.release();
+
+    // then
+    circuitBreaker.acquire();
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThatThrownBy(circuitBreaker::acquire).isInstanceOf(CircuitBreakerOpenException.class);
+  }
+
+  private void open() {
+    for (int i = 0; i < 4; i++) {
+      call(FAST_NANOS, true);
+    }
+  }
+
+  private void call(long durationNanos, boolean failed) {
+    circuitBreaker.acquire();
+    circuitBreaker.record(durationNanos, failed);
+  }
+}
@@ -0,0 +1,190 @@
+package io.iamcore.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.iamcore.HttpHeader;
+import io.iamcore.IRN;
+import io.iamcore.exception.IamcoreServerException;
+import io.iamcore.exception.SdkException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ResourceEvaluationBatcherTest {
+
+  private final HttpHeader authHeader = new HttpHeader("Authorization", "test-auth-token");
+  private final IRN firstIrn = IRN.of("iamcore", "resource", "", "/pool", "document", "", "first");
+  private final IRN secondIrn =
+      IRN.of("iamcore", "resource", "", "/pool", "document", "", "second");
+  private final IRN deniedIrn =
+      IRN.of("iamcore", "resource", "", "/pool", "document", "", "denied");
+
+  private final List<List<IRN>> evaluations = new CopyOnWriteArrayList<>();
+
+  @Test
+  void combinesCallsWithinWindowAndSplitsResults() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMillis(50), 100, this::denyDeniedIrn);
+
+    // when
+    CompletableFuture<List<IRN>> first = batcher.submit(authHeader, "read", List.of(firstIrn));
+    CompletableFuture<List<IRN>> second =
+        batcher.submit(authHeader, "read", List.of(secondIrn, deniedIrn, firstIrn));
+
+    // then
+    assertThat(first.join()).containsExactly(firstIrn);
+    assertThat(second.join()).containsExactly(secondIrn, firstIrn);
+    assertThat(evaluations).containsExactly(List.of(firstIrn, secondIrn, deniedIrn));
+  }
+
+  @Test
+  void separatesActions() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMillis(50), 100, this::denyDeniedIrn);
+
+    // when
+    CompletableFuture<List<IRN>> read = batcher.submit(authHeader, "read", List.of(firstIrn));
+    CompletableFuture<List<IRN>> write = batcher.submit(authHeader, "write", List.of(firstIrn));
+    CompletableFuture.allOf(read, write).join();
+
+    // then
+    assertThat(evaluations).hasSize(2);
+  }
+
+  @Test
+  void sendsFullBatchWithoutWaitingForWindow() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMinutes(1), 2, this::denyDeniedIrn);
+
+    // when
+    List<IRN> authorized =
+        batcher.submit(authHeader, "read", List.of(firstIrn, secondIrn)).join();
+
+    // then
+    assertThat(authorized).containsExactly(firstIrn, secondIrn);
+  }
+
+  @Test
+  void splitsCallLargerThanMaxBatchSize() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMillis(50), 2, this::denyDeniedIrn);
+
+    // when
+    List<IRN> authorized =
+        batcher.submit(authHeader, "read", List.of(firstIrn, deniedIrn, secondIrn)).join();
+
+    // then
+    assertThat(authorized).containsExactly(firstIrn, secondIrn);
+    assertThat(evaluations).containsExactly(List.of(firstIrn, deniedIrn), List.of(secondIrn));
+  }
+
+  @Test
+  void fillsPendingBatchBeforeStartingNext() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMillis(50), 2, this::denyDeniedIrn);
+    CompletableFuture<List<IRN>> first = batcher.submit(authHeader, "read", List.of(firstIrn));
+
+    // when
+    CompletableFuture<List<IRN>> second =
+        batcher.submit(authHeader, "read", List.of(firstIrn, secondIrn, deniedIrn));
+
+    // then
+    assertThat(first.join()).containsExactly(firstIrn);
+    assertThat(second.join()).containsExactly(firstIrn, secondIrn);
+    assertThat(evaluations).containsExactly(List.of(firstIrn, secondIrn), List.of(deniedIrn));
+  }
+
+  @Test
+  void separatesPrincipals() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMillis(50), 100, this::denyDeniedIrn);
+    HttpHeader otherHeader = new HttpHeader("Authorization", "other-auth-token");
+
+    // when
+    CompletableFuture<List<IRN>> first = batcher.submit(authHeader, "read", List.of(firstIrn));
+    CompletableFuture<List<IRN>> other = batcher.submit(otherHeader, "read", List.of(firstIrn));
+    CompletableFuture.allOf(first, other).join();
+
+    // then
+    assertThat(evaluations).hasSize(2);
+  }
+
+  @Test
+  void sendsPendingBatchesWhenClosed() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMinutes(1), 100, this::denyDeniedIrn);
+    CompletableFuture<List<IRN>> pending = batcher.submit(authHeader, "read", List.of(firstIrn));
+
+    // when
+    batcher.close();
+
+    // then
+    assertThat(pending).isCompletedWithValue(List.of(firstIrn));
+  }
+
+  @Test
+  void rejectsCallsSubmittedAfterClose() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(Duration.ofMinutes(1), 100, this::denyDeniedIrn);
+    batcher.close();
+
+    // when
+    CompletableFuture<List<IRN>> rejected = batcher.submit(authHeader, "read", List.of(firstIrn));
+
+    // then
+    assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .cause()
+        .isInstanceOf(SdkException.class)
+        .hasMessageContaining("closed");
+    assertThat(evaluations).isEmpty();
+  }
+
+  @Test
+  void propagatesFailureToAllCallers() {
+    // given
+    ResourceEvaluationBatcher batcher =
+        new ResourceEvaluationBatcher(
+            Duration.ofMillis(10),
+            100,
+            (header, action, resources) ->
+                CompletableFuture.failedFuture(new IamcoreServerException("Access denied", 403)));
+
+    // when
+    CompletableFuture<List<IRN>> first = batcher.submit(authHeader, "read", List.of(firstIrn));
+    CompletableFuture<List<IRN>> second = batcher.submit(authHeader, "read", List.of(secondIrn));
+
+    // then
+    assertThatThrownBy(first::join)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(IamcoreServerException.class);
+    assertThatThrownBy(second::join)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(IamcoreServerException.class);
+  }
+
+  private CompletableFuture<List<IRN>> denyDeniedIrn(
+      HttpHeader header, String action, List<IRN> resources) {
+    evaluations.add(List.copyOf(resources));
+    return CompletableFuture.completedFuture(
+        resources.stream()
+            .filter(resource -> !resource.toString().equals(deniedIrn.toString()))
+            .toList());
+  }
+}
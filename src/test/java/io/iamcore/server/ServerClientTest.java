@@ -7,9 +7,14 @@ import static org.assertj.core.api.Assertions.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.iamcore.ClientProperties;
 import io.iamcore.HttpHeader;
 import io.iamcore.IRN;
+import io.iamcore.exception.CircuitBreakerOpenException;
 import io.iamcore.exception.IamcoreServerException;
+import io.iamcore.exception.SdkException;
+import io.iamcore.metrics.InMemoryMetricsRecorder;
+import io.iamcore.metrics.OperationMetrics;
 import io.iamcore.server.dto.CreateResourceRequestDto;
 import io.iamcore.server.dto.CreateResourceTypeRequestDto;
 import io.iamcore.server.dto.Database;
@@ -17,14 +22,25 @@ import io.iamcore.server.dto.DeleteResourcesRequestDto;
 import io.iamcore.server.dto.PoolResponse;
 import io.iamcore.server.dto.PoolsQueryFilter;
 import io.iamcore.server.dto.ResourceTypeDto;
+import io.iamcore.server.dto.ResourceTypesSnapshot;
 import io.iamcore.server.dto.UpdateResourceRequestDto;
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -41,9 +57,13 @@ class ServerClientTest {
 
   // SUT
   private ServerClient serverClient;
+  private AsyncServerClient asyncServerClient;
+
+  private String baseUrl;
 
   @BeforeEach
   void setUp(WireMockRuntimeInfo wmRuntimeInfo) {
+    baseUrl = wmRuntimeInfo.getHttpBaseUrl();
     ObjectMapper objectMapper = new ObjectMapper();
     URI connectionUrl = URI.create(wmRuntimeInfo.getHttpBaseUrl());
     testPrincipalIrn = IRN.of("iamcore", "user", "", "/pool", "user", "", "test-user");
@@ -51,7 +71,9 @@ class ServerClientTest {
     testApplicationIrn =
         IRN.of("iamcore", "application", "", "/pool", "application", "", "test-app");
     authHeader = new HttpHeader("Authorization", TEST_AUTH_TOKEN);
-    serverClient = new ServerClientImpl(connectionUrl, objectMapper);
+    ServerClientImpl serverClientImpl = new ServerClientImpl(connectionUrl, objectMapper);
+    serverClient = serverClientImpl;
+    asyncServerClient = serverClientImpl;
   }
 
   @Nested
@@ -211,7 +233,7 @@ class ServerClientTest {
       String resourceType = "document";
       stubFor(
           post(urlPathEqualTo(EVALUATE_RESOURCES_PATH))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .withRequestBody(containing("\"action\":\"" + action + "\""))
               .withRequestBody(containing("\"application\":\"" + application + "\""))
               .withRequestBody(containing("\"resourceType\":\"" + resourceType + "\""))
@@ -240,7 +262,7 @@ class ServerClientTest {
       String resourceType = "document";
       stubFor(
           post(urlPathEqualTo(EVALUATE_RESOURCES_PATH))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .withRequestBody(containing("\"action\":\"" + action + "\""))
               .willReturn(
                   aResponse()
@@ -266,7 +288,7 @@ class ServerClientTest {
       String resourceType = "document";
       stubFor(
           post(urlPathEqualTo(EVALUATE_RESOURCES_PATH))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .willReturn(
                   aResponse()
                       .withStatus(403)
@@ -603,7 +625,7 @@ class ServerClientTest {
 
       stubFor(
           get(urlPathEqualTo(String.format(RESOURCE_TYPE_PATH_TEMPLATE, testApplicationIrn.toBase64())))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .willReturn(
                   aResponse()
                       .withStatus(200)
@@ -628,7 +650,7 @@ class ServerClientTest {
       // given
       stubFor(
           get(urlPathEqualTo(String.format(RESOURCE_TYPE_PATH_TEMPLATE, testApplicationIrn.toBase64())))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .willReturn(
                   aResponse()
                       .withStatus(404)
@@ -640,6 +662,56 @@ class ServerClientTest {
           .isInstanceOf(IamcoreServerException.class)
           .hasMessageContaining("Application not found");
     }
+
+    @Test
+    void snapshotKeepsValidators() {
+      // given
+      stubFor(
+          get(urlPathEqualTo(String.format(RESOURCE_TYPE_PATH_TEMPLATE, testApplicationIrn.toBase64())))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withHeader("ETag", "\"v1\"")
+                      .withBody("{\"data\": [{\"id\": \"type1\", \"type\": \"document\"}]}")));
+
+      // when
+      ResourceTypesSnapshot snapshot =
+          serverClient.getResourceTypesSnapshot(authHeader, testApplicationIrn, null);
+
+      // then
+      assertThat(snapshot.resourceTypes()).extracting(ResourceTypeDto::getId).containsExactly("type1");
+      assertThat(snapshot.pages().getFirst().etag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void snapshotReusedWhenNotModified() {
+      // given
+      stubFor(
+          get(urlPathEqualTo(String.format(RESOURCE_TYPE_PATH_TEMPLATE, testApplicationIrn.toBase64())))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withHeader("ETag", "\"v1\"")
+                      .withBody("{\"data\": [{\"id\": \"type1\", \"type\": \"document\"}]}")));
+      ResourceTypesSnapshot previous =
+          serverClient.getResourceTypesSnapshot(authHeader, testApplicationIrn, null);
+      stubFor(
+          get(urlPathEqualTo(String.format(RESOURCE_TYPE_PATH_TEMPLATE, testApplicationIrn.toBase64())))
+              .withHeader("If-None-Match", equalTo("\"v1\""))
+              .willReturn(aResponse().withStatus(304)));
+
+      // when
+      ResourceTypesSnapshot snapshot =
+          asyncServerClient.getResourceTypesSnapshotAsync(authHeader, testApplicationIrn, previous)
+              .join();
+
+      // then
+      assertThat(snapshot).isSameAs(previous);
+      verify(2, getRequestedFor(urlPathEqualTo(
+          String.format(RESOURCE_TYPE_PATH_TEMPLATE, testApplicationIrn.toBase64()))));
+    }
   }
 
   @Nested
@@ -780,7 +852,7 @@ class ServerClientTest {
 
       stubFor(
           get(urlPathEqualTo(POOLS_PATH))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .withQueryParam("resourceIRN", equalTo(resourceIrn.toString()))
               .withQueryParam("irn", equalTo(poolIrn.toString()))
               .willReturn(
@@ -809,7 +881,7 @@ class ServerClientTest {
       PoolsQueryFilter filter = new PoolsQueryFilter(null, "", null);
       stubFor(
           get(urlPathEqualTo(POOLS_PATH))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .willReturn(
                   aResponse()
                       .withStatus(200)
@@ -830,7 +902,7 @@ class ServerClientTest {
       stubFor(
           get(urlPathEqualTo(POOLS_PATH))
               .withQueryParam("name", equalTo("test"))
-              .withQueryParam("pageSize", equalTo("100000"))
+              .withQueryParam("pageSize", equalTo("1000"))
               .willReturn(
                   aResponse()
                       .withStatus(500)
@@ -843,4 +915,453 @@ class ServerClientTest {
           .hasMessageContaining("Internal server error");
     }
   }
+
+  @Nested
+  class Async {
+
+    @Test
+    void authorizedOnResourcesHappyPath() {
+      // given
+      List<IRN> resources = Collections.singletonList(testResourceIrn);
+      stubFor(
+          post(urlEqualTo(RESOURCES_EVALUATE_PATH))
+              .withRequestBody(containing("\"action\":\"read\""))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("[\"" + testResourceIrn + "\"]")));
+
+      // when
+      List<IRN> authorizedResources =
+          asyncServerClient.authorizedOnResourcesAsync(authHeader, "read", resources).join();
+
+      // then
+      assertThat(authorizedResources).hasSize(1);
+      assertThat(authorizedResources.getFirst().toBase64()).isEqualTo(testResourceIrn.toBase64());
+    }
+
+    @Test
+    void serverError() {
+      // given
+      stubFor(
+          get(urlEqualTo(USER_IRN_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(500)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"message\": \"Internal server error\"}")));
+
+      // when & then
+      assertThatThrownBy(() -> asyncServerClient.getPrincipalIrnAsync(authHeader).join())
+          .isInstanceOf(CompletionException.class)
+          .cause()
+          .isInstanceOf(IamcoreServerException.class)
+          .hasMessageContaining("Internal server error");
+    }
+
+    @Test
+    void networkError() {
+      // given
+      ServerClientImpl unreachableClient =
+          new ServerClientImpl(URI.create("http://localhost:1"), new ObjectMapper());
+
+      // when & then
+      assertThatThrownBy(() -> unreachableClient.getPrincipalIrnAsync(authHeader).join())
+          .isInstanceOf(CompletionException.class)
+          .cause()
+          .isInstanceOf(SdkException.class)
+          .hasMessageContaining("Network or I/O error");
+    }
+
+    @Test
+    void parsesConcurrentResponsesOnSingleThreadExecutor() throws Exception {
+      // given
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      ServerClientImpl singleThreadedClient = new ServerClientImpl(URI.create(baseUrl),
+          new ObjectMapper(), HttpClient.newBuilder().executor(executor).build());
+      stubFor(
+          post(urlEqualTo(RESOURCES_EVALUATE_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("[\"" + testResourceIrn + "\"]")
+                      .withChunkedDribbleDelay(5, 200)));
+
+      try {
+        // when
+        List<CompletableFuture<List<IRN>>> responses = IntStream.range(0, 4)
+            .mapToObj(i -> singleThreadedClient.authorizedOnResourcesAsync(authHeader,
+                "read-" + i, List.of(testResourceIrn)))
+            .toList();
+
+        // then
+        for (CompletableFuture<List<IRN>> response : responses) {
+          assertThat(response.get(5, TimeUnit.SECONDS)).hasSize(1);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  @Nested
+  class RequestCoalescing {
+
+    @Test
+    void concurrentIdenticalRequestsShareOneCall() {
+      // given
+      stubFor(
+          get(urlEqualTo(USER_IRN_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withFixedDelay(300)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"data\": \"" + testPrincipalIrn + "\"}")));
+
+      // when
+      List<CompletableFuture<IRN>> responses =
+          IntStream.range(0, 5)
+              .mapToObj(i -> asyncServerClient.getPrincipalIrnAsync(authHeader))
+              .toList();
+
+      // then
+      assertThat(responses)
+          .allSatisfy(
+              response ->
+                  assertThat(response.join().toBase64()).isEqualTo(testPrincipalIrn.toBase64()));
+      verify(1, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+    }
+
+    @Test
+    void writesAreNotCoalesced() {
+      // given
+      stubFor(
+          delete(urlEqualTo(RESOURCE_PATH + "/" + testResourceIrn.toBase64()))
+              .willReturn(aResponse().withStatus(204).withFixedDelay(300)));
+
+      // when
+      List<CompletableFuture<Void>> responses =
+          IntStream.range(0, 3)
+              .mapToObj(i -> asyncServerClient.deleteResourceAsync(authHeader, testResourceIrn))
+              .toList();
+      responses.forEach(CompletableFuture::join);
+
+      // then
+      verify(3, deleteRequestedFor(urlEqualTo(RESOURCE_PATH + "/" + testResourceIrn.toBase64())));
+    }
+  }
+
+  @Nested
+  class Metrics {
+
+    private InMemoryMetricsRecorder metricsRecorder;
+    private ServerClientImpl measuredServerClient;
+
+    @BeforeEach
+    void setUp() {
+      metricsRecorder = new InMemoryMetricsRecorder();
+      ClientProperties properties = new ClientProperties("test-api-key", baseUrl, false);
+      properties.setMetricsRecorder(metricsRecorder);
+      measuredServerClient =
+          new ServerClientImpl(properties, new ObjectMapper(), HttpClient.newHttpClient());
+    }
+
+    @Test
+    void recordsRequestsPerOperation() {
+      // given
+      String responseBody = "{\"data\": \"" + testPrincipalIrn + "\"}";
+      stubFor(
+          get(urlEqualTo(USER_IRN_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody(responseBody)));
+
+      // when
+      measuredServerClient.getPrincipalIrn(authHeader);
+      measuredServerClient.getPrincipalIrnAsync(authHeader).join();
+
+      // then
+      OperationMetrics metrics = metricsRecorder.getOperation("getPrincipalIrn").orElseThrow();
+      assertThat(metrics.getRequestCount()).isEqualTo(2);
+      assertThat(metrics.getErrorCount()).isZero();
+      assertThat(metrics.getRequestBytes()).isZero();
+      assertThat(metrics.getResponseBytes()).isEqualTo(2L * responseBody.length());
+      assertThat(metrics.getLatency().getCount()).isEqualTo(2);
+      assertThat(metrics.getLatency().getValueAtPercentile(50)).isPositive();
+    }
+
+    @Test
+    void recordsFailedRequests() {
+      // given
+      stubFor(
+          post(urlEqualTo(AUTHORIZATION_QUERY_FILTER_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(403)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"message\": \"Forbidden\"}")));
+
+      // when
+      Throwable thrown = catchThrowable(() ->
+          measuredServerClient.authorizationDbQueryFilter(authHeader, "read", Database.MONGO));
+
+      // then
+      assertThat(thrown).isInstanceOf(IamcoreServerException.class);
+      OperationMetrics metrics =
+          metricsRecorder.getOperation("authorizationDbQueryFilter").orElseThrow();
+      assertThat(metrics.getRequestCount()).isEqualTo(1);
+      assertThat(metrics.getErrorCount()).isEqualTo(1);
+      assertThat(metrics.getRequestBytes()).isPositive();
+    }
+  }
+
+  @Nested
+  class CircuitBreaking {
+
+    private ServerClientImpl guardedServerClient;
+
+    @BeforeEach
+    void setUp() {
+      ClientProperties properties = new ClientProperties("test-api-key", baseUrl, false);
+      properties.setCircuitBreakerEnabled(true);
+      properties.setCircuitBreakerMinimumCalls(2);
+      properties.setRequestTimeout(Duration.ofMillis(500));
+      guardedServerClient =
+          new ServerClientImpl(properties, new ObjectMapper(), HttpClient.newHttpClient());
+    }
+
+    @Test
+    void failsFastWhenEndpointGroupIsDegraded() {
+      // given
+      stubFor(get(urlEqualTo(USER_IRN_PATH)).willReturn(aResponse().withStatus(503)));
+      catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+      catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+
+      // when
+      Throwable thrown = catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+      Throwable thrownAsync =
+          catchThrowable(() -> guardedServerClient.getPrincipalIrnAsync(authHeader).join());
+
+      // then
+      assertThat(thrown)
+          .isInstanceOf(CircuitBreakerOpenException.class)
+          .extracting("endpointGroup")
+          .isEqualTo("principals");
+      assertThat(thrownAsync).hasCauseInstanceOf(CircuitBreakerOpenException.class);
+      verify(2, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+    }
+
+    @Test
+    void keepsOtherEndpointGroupsAvailable() {
+      // given
+      stubFor(get(urlEqualTo(USER_IRN_PATH)).willReturn(aResponse().withStatus(503)));
+      stubFor(
+          get(urlPathEqualTo(POOLS_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"data\": [], \"count\": 0}")));
+      catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+      catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+
+      // when
+      Throwable thrown = catchThrowable(() ->
+          guardedServerClient.getPools(authHeader, new PoolsQueryFilter(null, "", null)));
+
+      // then
+      assertThat(thrown).isNull();
+    }
+
+    @Test
+    void ignoresClientErrors() {
+      // given
+      stubFor(get(urlEqualTo(USER_IRN_PATH)).willReturn(aResponse().withStatus(403)));
+
+      // when
+      for (int i = 0; i < 3; i++) {
+        assertThatThrownBy(() -> guardedServerClient.getPrincipalIrn(authHeader))
+            .isInstanceOf(IamcoreServerException.class);
+      }
+
+      // then
+      verify(3, getRequestedFor(urlEqualTo(USER_IRN_PATH)));
+    }
+
+    @Test
+    void countsTimeoutsAsFailures() {
+      // given
+      stubFor(
+          get(urlEqualTo(USER_IRN_PATH))
+              .willReturn(aResponse().withStatus(200).withFixedDelay(1000)));
+
+      // when
+      Throwable first = catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+      catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+      Throwable third = catchThrowable(() -> guardedServerClient.getPrincipalIrn(authHeader));
+
+      // then
+      assertThat(first).isInstanceOf(SdkException.class)
+          .isNotInstanceOf(CircuitBreakerOpenException.class);
+      assertThat(third).isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void ignoresRequestsThatCannotBeBuilt() {
+      // given
+      HttpHeader invalidHeader = new HttpHeader("Authorization", "token\r\nX-Injected: true");
+      stubPrincipal();
+
+      // when
+      for (int i = 0; i < 3; i++) {
+        assertThatThrownBy(() -> guardedServerClient.getPrincipalIrnAsync(invalidHeader).join())
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+      }
+
+      // then
+      assertThat(guardedServerClient.getPrincipalIrn(authHeader).toBase64())
+          .isEqualTo(testPrincipalIrn.toBase64());
+    }
+
+    @Test
+    void releasesHalfOpenProbeWhenRequestCannotBeBuilt() throws InterruptedException {
+      // given
+      ClientProperties properties = new ClientProperties("test-api-key", baseUrl, false);
+      properties.setCircuitBreakerEnabled(true);
+      properties.setCircuitBreakerMinimumCalls(2);
+      properties.setCircuitBreakerOpenDuration(Duration.ofMillis(100));
+      properties.setCircuitBreakerHalfOpenProbes(1);
+      ServerClientImpl probedServerClient =
+          new ServerClientImpl(properties, new ObjectMapper(), HttpClient.newHttpClient());
+      stubFor(get(urlEqualTo(USER_IRN_PATH)).willReturn(aResponse().withStatus(503)));
+      catchThrowable(() -> probedServerClient.getPrincipalIrn(authHeader));
+      catchThrowable(() -> probedServerClient.getPrincipalIrn(authHeader));
+      Thread.sleep(150);
+      HttpHeader invalidHeader = new HttpHeader("Authorization", "token\r\nX-Injected: true");
+      catchThrowable(() -> probedServerClient.getPrincipalIrnAsync(invalidHeader).join());
+
+      // when
+      stubPrincipal();
+      IRN principalIrn = probedServerClient.getPrincipalIrn(authHeader);
+
+      // then
+      assertThat(principalIrn.toBase64()).isEqualTo(testPrincipalIrn.toBase64());
+    }
+
+    @Test
+    void defaultsRequestTimeoutFromSlowCallDuration() {
+      // given
+      ClientProperties properties = new ClientProperties("test-api-key", baseUrl, false);
+      properties.setCircuitBreakerEnabled(true);
+      properties.setCircuitBreakerSlowCallDuration(Duration.ofMillis(100));
+      ServerClientImpl defaultedServerClient =
+          new ServerClientImpl(properties, new ObjectMapper(), HttpClient.newHttpClient());
+      stubFor(
+          get(urlEqualTo(USER_IRN_PATH))
+              .willReturn(aResponse().withStatus(200).withFixedDelay(2000)));
+
+      // when
+      long startNanos = System.nanoTime();
+      Throwable thrown = catchThrowable(() -> defaultedServerClient.getPrincipalIrn(authHeader));
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+      // then
+      assertThat(thrown)
+          .isInstanceOf(SdkException.class)
+          .hasCauseInstanceOf(HttpTimeoutException.class);
+      assertThat(elapsed).isLessThan(Duration.ofMillis(1500));
+    }
+
+    private void stubPrincipal() {
+      stubFor(
+          get(urlEqualTo(USER_IRN_PATH))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"data\": \"" + testPrincipalIrn + "\"}")));
+    }
+  }
+
+  @Nested
+  class Pagination {
+
+    private ServerClient pagedServerClient;
+    private IRN secondResourceIrn;
+    private IRN thirdResourceIrn;
+
+    @BeforeEach
+    void setUp() {
+      ClientProperties properties = new ClientProperties("test-api-key", baseUrl, false);
+      properties.setPageSize(2);
+      pagedServerClient =
+          new ServerClientImpl(properties, new ObjectMapper(), HttpClient.newHttpClient());
+      secondResourceIrn = IRN.of("iamcore", "resource", "", "/pool", "document", "", "doc-2");
+      thirdResourceIrn = IRN.of("iamcore", "resource", "", "/pool", "document", "", "doc-3");
+
+      stubPage(1, "[\"" + testResourceIrn + "\", \"" + secondResourceIrn + "\"]");
+      stubPage(2, "[\"" + thirdResourceIrn + "\"]");
+    }
+
+    @Test
+    void fetchesAllPages() {
+      // when
+      List<IRN> authorizedResources =
+          pagedServerClient.authorizedOnResourceType(
+              authHeader, "read", "test-app", "tenant1", "document");
+
+      // then
+      assertThat(authorizedResources)
+          .extracting(IRN::toBase64)
+          .containsExactly(
+              testResourceIrn.toBase64(),
+              secondResourceIrn.toBase64(),
+              thirdResourceIrn.toBase64());
+      verify(2, postRequestedFor(urlPathEqualTo(EVALUATE_RESOURCES_PATH)));
+    }
+
+    @Test
+    void fetchesAllPagesAsync() {
+      // when
+      List<IRN> authorizedResources =
+          ((AsyncServerClient) pagedServerClient)
+              .authorizedOnResourceTypeAsync(authHeader, "read", "test-app", "tenant1", "document")
+              .join();
+
+      // then
+      assertThat(authorizedResources).hasSize(3);
+    }
+
+    @Test
+    void stopsFetchingWhenConsumerStops() {
+      // when
+      List<IRN> firstResources;
+      try (Stream<IRN> authorizedResources =
+          pagedServerClient.streamAuthorizedOnResourceType(
+              authHeader, "read", "test-app", "tenant1", "document")) {
+        firstResources = authorizedResources.limit(2).toList();
+      }
+
+      // then
+      assertThat(firstResources).hasSize(2);
+      verify(1, postRequestedFor(urlPathEqualTo(EVALUATE_RESOURCES_PATH)));
+    }
+
+    private void stubPage(int page, String data) {
+      stubFor(
+          post(urlPathEqualTo(EVALUATE_RESOURCES_PATH))
+              .withQueryParam("page", equalTo(String.valueOf(page)))
+              .withQueryParam("pageSize", equalTo("2"))
+              .willReturn(
+                  aResponse()
+                      .withStatus(200)
+                      .withHeader("Content-Type", "application/json")
+                      .withBody("{\"data\": " + data + ", \"count\": 3}")));
+    }
+  }
 }
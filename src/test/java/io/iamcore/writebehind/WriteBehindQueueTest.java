@@ -0,0 +1,234 @@
+package io.iamcore.writebehind;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.iamcore.HttpHeader;
+import io.iamcore.exception.SdkException;
+import io.iamcore.server.ServerClientImpl;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@WireMockTest
+class WriteBehindQueueTest {
+
+  private static final String RESOURCE_PATH = "/api/v1/resources";
+  private static final String DELETE_RESOURCES_PATH = "/api/v1/resources/delete";
+
+  @TempDir
+  private Path tempDir;
+
+  private Path journalPath;
+  private ServerClientImpl serverClient;
+  private final HttpHeader apiKeyHeader = new HttpHeader("X-iamcore-API-Key", "test-api-key");
+
+  // SUT
+  private WriteBehindQueue queue;
+
+  @BeforeEach
+  void setUp(WireMockRuntimeInfo wmRuntimeInfo) {
+    journalPath = tempDir.resolve("iamcore.journal");
+    serverClient = new ServerClientImpl(URI.create(wmRuntimeInfo.getHttpBaseUrl()),
+        new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (queue != null) {
+      queue.close();
+    }
+  }
+
+  @Test
+  void appliesIntentsInBackground() throws InterruptedException {
+    // given
+    stubCreated();
+    stubFor(post(urlEqualTo(DELETE_RESOURCES_PATH)).willReturn(aResponse().withStatus(200)));
+    queue = openQueue();
+
+    // when
+    queue.enqueue(createIntent("first"));
+    queue.enqueue(ResourceIntent.delete("account", "app", "tenant", "document", null, "second"));
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofSeconds(5))).isTrue();
+    verify(1, postRequestedFor(urlEqualTo(RESOURCE_PATH))
+        .withRequestBody(containing("\"name\":\"first\"")));
+    verify(1, postRequestedFor(urlEqualTo(DELETE_RESOURCES_PATH)));
+  }
+
+  @Test
+  void replaysPendingIntentsAfterRestart() throws Exception {
+    // given
+    stubFor(post(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(503)));
+    queue = openQueue();
+    queue.enqueue(createIntent("first"));
+    assertThat(queue.awaitDrained(Duration.ofMillis(200))).isFalse();
+    queue.close();
+    stubCreated();
+
+    // when
+    queue = openQueue();
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofSeconds(5))).isTrue();
+    assertThat(Files.readString(journalPath.resolveSibling("iamcore.journal.checkpoint")))
+        .isEqualTo("1");
+  }
+
+  @Test
+  void movesPermanentlyFailingIntentsAside() throws Exception {
+    // given
+    stubFor(post(urlEqualTo(RESOURCE_PATH))
+        .willReturn(aResponse()
+            .withStatus(400)
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"message\": \"Invalid request\"}")));
+    queue = openQueue();
+
+    // when
+    queue.enqueue(createIntent("invalid"));
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofSeconds(5))).isTrue();
+    assertThat(Files.readString(journalPath.resolveSibling("iamcore.journal.failed")))
+        .contains("\"resourceId\":\"invalid\"")
+        .contains("Invalid request");
+  }
+
+  @Test
+  void movesIntentsFailingOnTheClientSideAside() throws Exception {
+    // given
+    stubFor(post(urlEqualTo(RESOURCE_PATH))
+        .willReturn(aResponse()
+            .withStatus(201)
+            .withHeader("Content-Type", "application/json")
+            .withBody("not json")));
+    queue = openQueue();
+
+    // when
+    queue.enqueue(createIntent("unparseable"));
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofSeconds(5))).isTrue();
+    assertThat(Files.readString(journalPath.resolveSibling("iamcore.journal.failed")))
+        .contains("\"resourceId\":\"unparseable\"");
+    verify(1, postRequestedFor(urlEqualTo(RESOURCE_PATH)));
+  }
+
+  @Test
+  void treatsConflictOnReplayedCreateAsApplied() throws InterruptedException {
+    // given
+    stubFor(post(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(503)));
+    queue = openQueue();
+    queue.enqueue(createIntent("existing"));
+    assertThat(queue.awaitDrained(Duration.ofMillis(200))).isFalse();
+    queue.close();
+    stubFor(post(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(409)));
+
+    // when
+    queue = openQueue();
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofSeconds(5))).isTrue();
+    assertThat(Files.exists(journalPath.resolveSibling("iamcore.journal.failed"))).isFalse();
+  }
+
+  @Test
+  void movesConflictOnFirstAttemptAside() throws Exception {
+    // given
+    stubFor(post(urlEqualTo(RESOURCE_PATH))
+        .willReturn(aResponse()
+            .withStatus(409)
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"message\": \"Resource already exists\"}")));
+    queue = openQueue();
+
+    // when
+    queue.enqueue(createIntent("existing"));
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofSeconds(5))).isTrue();
+    assertThat(Files.readString(journalPath.resolveSibling("iamcore.journal.failed")))
+        .contains("\"resourceId\":\"existing\"")
+        .contains("Resource already exists");
+  }
+
+  @Test
+  void appliesDeleteAfterCreateOfSameResource() throws InterruptedException {
+    // given
+    stubCreated();
+    stubFor(post(urlEqualTo(DELETE_RESOURCES_PATH)).willReturn(aResponse().withStatus(200)));
+    queue = openQueue();
+
+    // when
+    queue.enqueue(createIntent("first"));
+    queue.enqueue(ResourceIntent.delete("account", "app", "tenant", "document", null, "first"));
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofSeconds(5))).isTrue();
+    List<String> urls = getAllServeEvents().stream()
+        .map(event -> event.getRequest().getUrl())
+        .toList();
+    assertThat(urls).containsExactly(DELETE_RESOURCES_PATH, RESOURCE_PATH);
+  }
+
+  @Test
+  void rejectsJournalInUse() {
+    // given
+    queue = openQueue();
+
+    // when & then
+    assertThatThrownBy(this::openQueue)
+        .isInstanceOf(SdkException.class)
+        .hasMessageContaining("already in use");
+  }
+
+  @Test
+  void countsUnexpectedDrainFailures() throws Exception {
+    // given
+    Files.createDirectory(journalPath.resolveSibling("iamcore.journal.failed"));
+    stubFor(post(urlEqualTo(RESOURCE_PATH)).willReturn(aResponse().withStatus(400)));
+    queue = openQueue();
+
+    // when
+    queue.enqueue(createIntent("invalid"));
+
+    // then
+    assertThat(queue.awaitDrained(Duration.ofMillis(300))).isFalse();
+    assertThat(queue.getDrainFailureCount()).isPositive();
+    assertThat(queue.getLastDrainFailure()).get()
+        .extracting(Throwable::getMessage)
+        .asString()
+        .contains("Failed to record failed write-behind intent");
+  }
+
+  private WriteBehindQueue openQueue() {
+    return new WriteBehindQueue(journalPath, new ObjectMapper(), serverClient, apiKeyHeader, 10,
+        4, Duration.ofMillis(20), Duration.ofMillis(20));
+  }
+
+  private static ResourceIntent createIntent(String resourceId) {
+    return ResourceIntent.create("account", "app", "tenant", "document", "/", resourceId,
+        Set.of());
+  }
+
+  private static void stubCreated() {
+    stubFor(post(urlEqualTo(RESOURCE_PATH))
+        .willReturn(aResponse()
+            .withStatus(201)
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"data\": {\"irn\": \"irn:account:app:tenant::document/first\"}}")));
+  }
+}